@@ -0,0 +1,134 @@
+package com.observability.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.observability.gateway.GatewayResponses.ProcessorData;
+import com.observability.processor.grpc.ProcessResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response building in {@link GatewayController}, on its own and including the JSON serialization
+ * Spring MVC performs before writing the body. The {@code map*} benchmarks keep the HashMap bodies
+ * the controller used to build as a baseline; run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} to see the bytes allocated per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayResponseBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ProcessorData processorData;
+    private Map<String, Object> processorDataMap;
+    private ProcessResponse grpcResponse;
+
+    @Setup
+    public void setUp() {
+        processorData = new ProcessorData("processor-service", "2025-01-01T12:00:00.123456",
+                "Processed by Processor Service", "Final data from Processor");
+
+        processorDataMap = new HashMap<>();
+        processorDataMap.put("service", "processor-service");
+        processorDataMap.put("timestamp", "2025-01-01T12:00:00.123456");
+        processorDataMap.put("processedData", "Processed by Processor Service");
+        processorDataMap.put("data", "Final data from Processor");
+
+        grpcResponse = ProcessResponse.newBuilder()
+                .setService("processor-service")
+                .setTimestamp("2025-01-01T12:00:00.123456")
+                .setProcessedData("Processed by Processor Service via gRPC")
+                .setData("Final data from Processor via gRPC")
+                .build();
+    }
+
+    @Benchmark
+    public Object restChainResponse() {
+        return GatewayController.restChainResponse(processorData);
+    }
+
+    @Benchmark
+    public byte[] restChainResponseSerialized() throws Exception {
+        return objectMapper.writeValueAsBytes(GatewayController.restChainResponse(processorData));
+    }
+
+    @Benchmark
+    public Object grpcResponse() {
+        return GatewayController.grpcResponse(grpcResponse);
+    }
+
+    @Benchmark
+    public byte[] grpcResponseSerialized() throws Exception {
+        return objectMapper.writeValueAsBytes(GatewayController.grpcResponse(grpcResponse));
+    }
+
+    @Benchmark
+    public String timestamp() {
+        return Timestamps.now();
+    }
+
+    @Benchmark
+    public Object mapRestChainResponse() {
+        return mapRestChainResponse(processorDataMap);
+    }
+
+    @Benchmark
+    public byte[] mapRestChainResponseSerialized() throws Exception {
+        return objectMapper.writeValueAsBytes(mapRestChainResponse(processorDataMap));
+    }
+
+    @Benchmark
+    public Object mapGrpcResponse() {
+        return mapGrpcResponse(grpcResponse);
+    }
+
+    @Benchmark
+    public byte[] mapGrpcResponseSerialized() throws Exception {
+        return objectMapper.writeValueAsBytes(mapGrpcResponse(grpcResponse));
+    }
+
+    @Benchmark
+    public String localDateTimeTimestamp() {
+        return LocalDateTime.now().toString();
+    }
+
+    private static Map<String, Object> mapRestChainResponse(Map<String, Object> processorData) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Hello World!");
+        response.put("service", "gateway-service");
+        response.put("timestamp", LocalDateTime.now().toString());
+        response.put("processorResponse", processorData);
+        return response;
+    }
+
+    private static Map<String, Object> mapGrpcResponse(ProcessResponse grpcResponse) {
+        Map<String, Object> processorData = new HashMap<>();
+        processorData.put("service", grpcResponse.getService());
+        processorData.put("timestamp", grpcResponse.getTimestamp());
+        processorData.put("processedData", grpcResponse.getProcessedData());
+        processorData.put("data", grpcResponse.getData());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Hello World with gRPC!");
+        response.put("service", "gateway-service");
+        response.put("timestamp", LocalDateTime.now().toString());
+        response.put("grpcCommunication", "synchronous");
+        response.put("processorResponse", processorData);
+        return response;
+    }
+}
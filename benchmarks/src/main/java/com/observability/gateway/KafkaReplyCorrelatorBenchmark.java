@@ -0,0 +1,70 @@
+package com.observability.gateway;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full register/reply/complete cycle of the /kafka-rr correlation state under contention, against
+ * the plain UUID-keyed ConcurrentHashMap it replaced as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class KafkaReplyCorrelatorBenchmark {
+
+    private static final String REPLY = "{\"service\":\"processor-service\"}";
+
+    private KafkaReplyCorrelator correlator;
+    private final ConcurrentHashMap<String, CompletableFuture<String>> pendingRequests = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setUp() {
+        KafkaRequestReplyProperties properties = new KafkaRequestReplyProperties(
+                "gateway-processor-request", "gateway-processor-reply", 0,
+                Duration.ofSeconds(10), 100_000, Duration.ofMillis(10));
+        correlator = new KafkaReplyCorrelator(properties, new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        correlator.destroy();
+    }
+
+    @Benchmark
+    public Object correlatorRoundTrip() {
+        KafkaReplyCorrelator.PendingReply pendingReply = correlator.register();
+        correlator.handleProcessorReply(REPLY, pendingReply.correlationId());
+        return pendingReply.future().join();
+    }
+
+    @Benchmark
+    public Object uuidMapRoundTrip() {
+        String correlationId = UUID.randomUUID().toString();
+        CompletableFuture<String> future = new CompletableFuture<>();
+        pendingRequests.put(correlationId, future);
+        CompletableFuture<String> pending = pendingRequests.remove(correlationId);
+        pending.complete(REPLY);
+        return future.join();
+    }
+}
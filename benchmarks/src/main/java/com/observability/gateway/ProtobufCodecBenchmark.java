@@ -0,0 +1,86 @@
+package com.observability.gateway;
+
+import com.observability.processor.grpc.ProcessRequest;
+import com.observability.processor.grpc.ProcessResponse;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build and wire encode/decode of the processor.proto messages, for both the gRPC path and the
+ * protobuf Kafka reply path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtobufCodecBenchmark {
+
+    private final ProcessResponseDeserializer deserializer = new ProcessResponseDeserializer();
+    private byte[] requestBytes;
+    private byte[] responseBytes;
+    private RecordHeaders protobufHeaders;
+
+    @Setup
+    public void setUp() {
+        requestBytes = buildRequest().toByteArray();
+        responseBytes = buildResponse().toByteArray();
+        protobufHeaders = new RecordHeaders();
+        protobufHeaders.add(ProcessResponseDeserializer.PAYLOAD_FORMAT_HEADER, "protobuf".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public ProcessRequest buildRequest() {
+        return ProcessRequest.newBuilder()
+                .setMessage("grpc-request")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() {
+        return buildRequest().toByteArray();
+    }
+
+    @Benchmark
+    public ProcessRequest parseRequest() throws Exception {
+        return ProcessRequest.parseFrom(requestBytes);
+    }
+
+    @Benchmark
+    public ProcessResponse buildResponse() {
+        return ProcessResponse.newBuilder()
+                .setService("processor-service")
+                .setTimestamp("2025-01-01T12:00:00.123456")
+                .setProcessedData("Processed by Processor Service via gRPC")
+                .setData("Final data from Processor via gRPC")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() {
+        return buildResponse().toByteArray();
+    }
+
+    @Benchmark
+    public ProcessResponse parseResponse() throws Exception {
+        return ProcessResponse.parseFrom(responseBytes);
+    }
+
+    @Benchmark
+    public Object deserializeKafkaReply() {
+        return deserializer.deserialize("gateway-processor-reply", protobufHeaders, responseBytes);
+    }
+}
@@ -0,0 +1,50 @@
+package com.observability.processor;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka reply payload construction in {@link ProcessorController}, up to the bytes handed to the producer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KafkaReplyBenchmark {
+
+    private final StringSerializer stringSerializer = new StringSerializer();
+    private final ProcessResponseSerializer protobufSerializer = new ProcessResponseSerializer();
+
+    @Benchmark
+    public String jsonReply() {
+        return ProcessorController.jsonKafkaReply();
+    }
+
+    @Benchmark
+    public byte[] jsonReplySerialized() {
+        return stringSerializer.serialize("gateway-processor-reply", new RecordHeaders(), ProcessorController.jsonKafkaReply());
+    }
+
+    @Benchmark
+    public Object protobufReply() {
+        return ProcessorController.protobufKafkaReply();
+    }
+
+    @Benchmark
+    public byte[] protobufReplySerialized() {
+        return protobufSerializer.serialize("gateway-processor-reply", new RecordHeaders(), ProcessorController.protobufKafkaReply());
+    }
+}
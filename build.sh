@@ -2,20 +2,31 @@
 
 set -e
 
+# --fast-startup builds the startup-optimized images (Spring AOT, CDS archive, lazy init) as 1.0.0-fast;
+# run them with SERVICE_IMAGE_TAG=1.0.0-fast docker-compose up -d
+MAVEN_PROFILES=""
+DOCKERFILE="Dockerfile"
+TAG="1.0.0"
+if [ "$1" = "--fast-startup" ]; then
+    MAVEN_PROFILES="-Pfast-startup"
+    DOCKERFILE="Dockerfile.fast-startup"
+    TAG="1.0.0-fast"
+fi
+
 echo "Building all services..."
-mvn clean package -DskipTests
+mvn clean package -DskipTests $MAVEN_PROFILES
 
 echo ""
 echo "Building Docker images..."
 
 echo "Building processor-service image..."
 cd processor-service
-docker build -t observability/processor-service:1.0.0 .
+docker build -f $DOCKERFILE -t observability/processor-service:$TAG .
 cd ..
 
 echo "Building gateway-service image..."
 cd gateway-service
-docker build -t observability/gateway-service:1.0.0 .
+docker build -f $DOCKERFILE -t observability/gateway-service:$TAG .
 cd ..
 
 echo ""
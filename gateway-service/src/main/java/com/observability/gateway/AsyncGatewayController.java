@@ -0,0 +1,172 @@
+package com.observability.gateway;
+
+import com.observability.gateway.GatewayResponses.FireAndForget;
+import com.observability.gateway.GatewayResponses.Grpc;
+import com.observability.gateway.GatewayResponses.ProcessorData;
+import com.observability.gateway.GatewayResponses.ProcessorReply;
+import com.observability.processor.grpc.ProcessRequest;
+import com.observability.processor.grpc.ProcessResponse;
+import com.observability.processor.grpc.ProcessorServiceGrpc;
+import io.grpc.stub.StreamObserver;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking variants of the gateway fan-out endpoints. The simulated work is a {@link LatencyInjector}
+ * delay and every downstream call completes a future, so no request thread is held while a trace is in flight.
+ */
+@RestController
+@RequestMapping("/async")
+public class AsyncGatewayController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncGatewayController.class);
+
+    private final WebClient webClient;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaReplyCorrelator kafkaReplyCorrelator;
+    private final KafkaSendMonitor kafkaSendMonitor;
+    private final LatencyInjector latencyInjector;
+    private final ProcessorServiceGrpc.ProcessorServiceStub processorServiceAsyncStub;
+    private final ProcessorGrpcProperties grpcProperties;
+
+    public AsyncGatewayController(WebClient webClient, KafkaTemplate<String, String> kafkaTemplate,
+                                  KafkaReplyCorrelator kafkaReplyCorrelator, KafkaSendMonitor kafkaSendMonitor,
+                                  LatencyInjector latencyInjector, ProcessorChannelPool processorChannelPool,
+                                  ProcessorGrpcProperties grpcProperties) {
+        this.webClient = webClient;
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaReplyCorrelator = kafkaReplyCorrelator;
+        this.kafkaSendMonitor = kafkaSendMonitor;
+        this.latencyInjector = latencyInjector;
+        this.processorServiceAsyncStub = ProcessorServiceGrpc.newStub(processorChannelPool);
+        this.grpcProperties = grpcProperties;
+    }
+
+    @GetMapping("/rest-chain")
+    public Mono<ProcessorReply> restChain() {
+        logger.info("Gateway service received async rest-chain request");
+
+        return Mono.fromFuture(() -> latencyInjector.delay("rest-chain"))
+                .then(webClient.get()
+                        .uri("http://processor-service:9981/api/process")
+                        .retrieve()
+                        .bodyToMono(ProcessorData.class))
+                .map(processorData -> {
+                    ProcessorReply response = ProcessorReply.of(ProcessorReply.REST_CHAIN, processorData);
+
+                    logger.info("Gateway service returning async rest-chain response");
+                    return response;
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error calling processor service", e);
+                    return Mono.just(ProcessorReply.failed(ProcessorReply.REST_CHAIN_ERROR, "Failed to call processor service"));
+                });
+    }
+
+    @GetMapping("/kafka-rr")
+    public CompletableFuture<ProcessorReply> kafkaRequestReply() {
+        logger.info("Gateway service received async kafka-rr request");
+
+        return CompletableFuture.runAsync(() -> { }, latencyInjector.delayedExecutor("kafka-rr"))
+                .thenCompose(ignored -> {
+                    logger.debug("Sending Kafka request to processor service");
+                    KafkaReplyCorrelator.PendingReply pendingReply = kafkaReplyCorrelator.register();
+                    ProducerRecord<String, String> request = kafkaReplyCorrelator.requestRecord(pendingReply, "kafka-rr-request");
+                    return kafkaSendMonitor.track(request.topic(), () -> kafkaTemplate.send(request))
+                            .whenComplete((sendResult, e) -> {
+                                if (e != null) {
+                                    kafkaReplyCorrelator.cancel(pendingReply.correlationId());
+                                }
+                            })
+                            .thenCompose(sendResult -> pendingReply.future());
+                })
+                .thenApply(processorResponse -> {
+                    ProcessorReply response = ProcessorReply.of(ProcessorReply.KAFKA, processorResponse);
+
+                    logger.info("Gateway service returning async kafka-rr response");
+                    return response;
+                })
+                .exceptionally(e -> {
+                    logger.error("Error in async kafka-rr Kafka request-reply", e);
+                    return ProcessorReply.failed(ProcessorReply.KAFKA_ERROR,
+                            "Failed to get response from processor: " + e.getMessage());
+                });
+    }
+
+    @GetMapping("/kafka-ff")
+    public CompletableFuture<FireAndForget> kafkaFireAndForget() {
+        logger.info("Gateway service received async kafka-ff request");
+
+        String correlationId = UUID.randomUUID().toString();
+
+        return CompletableFuture.runAsync(() -> { }, latencyInjector.delayedExecutor("kafka-ff"))
+                .thenApply(ignored -> {
+                    logger.debug("Sending fire-and-forget Kafka request to processor service");
+                    kafkaSendMonitor.track("gateway-processor-fire-forget",
+                            () -> kafkaTemplate.send("gateway-processor-fire-forget", correlationId, "kafka-ff-request"));
+
+                    FireAndForget response = FireAndForget.of(correlationId);
+
+                    logger.info("Gateway service returning async kafka-ff response immediately");
+                    return response;
+                });
+    }
+
+    @GetMapping("/grpc")
+    public CompletableFuture<Grpc> grpcCommunication() {
+        logger.info("Gateway service received async grpc request - testing gRPC communication");
+
+        return CompletableFuture.runAsync(() -> { }, latencyInjector.delayedExecutor("grpc"))
+                .thenCompose(ignored -> {
+                    logger.debug("Sending async gRPC request to processor service");
+                    ProcessRequest grpcRequest = ProcessRequest.newBuilder()
+                            .setMessage("grpc-request")
+                            .build();
+                    return processData(grpcRequest);
+                })
+                .thenApply(grpcResponse -> {
+                    logger.debug("Received gRPC response from processor service");
+
+                    Grpc response = Grpc.of(Grpc.ASYNCHRONOUS, grpcResponse);
+
+                    logger.info("Gateway service returning async grpc response");
+                    return response;
+                })
+                .exceptionally(e -> {
+                    logger.error("Error in async grpc gRPC request", e);
+                    return Grpc.failed("Failed to call processor service via gRPC: " + e.getMessage());
+                });
+    }
+
+    private CompletableFuture<ProcessResponse> processData(ProcessRequest request) {
+        CompletableFuture<ProcessResponse> future = new CompletableFuture<>();
+        processorServiceAsyncStub.withDeadlineAfter(grpcProperties.deadline().toNanos(), TimeUnit.NANOSECONDS)
+                .processData(request, new StreamObserver<>() {
+                    @Override
+                    public void onNext(ProcessResponse response) {
+                        future.complete(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+        return future;
+    }
+}
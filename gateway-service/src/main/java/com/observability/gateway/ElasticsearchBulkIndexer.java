@@ -0,0 +1,202 @@
+package com.observability.gateway;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.BulkOptions;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers {@link SearchDocument}s and indexes them into their {@link RollingSearchIndex} through
+ * the _bulk API from a single dispatcher thread. At most maxInFlight bulk requests run at once; when
+ * they are all busy the dispatcher stops draining, the buffer fills up and {@link #offer} starts
+ * waiting, which pushes backpressure onto the request threads instead of queueing without bound.
+ */
+@Component
+public class ElasticsearchBulkIndexer implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ElasticsearchBulkIndexer.class);
+
+    // Rough per-action overhead of the bulk action line and the document's id and timestamp fields
+    private static final int ACTION_OVERHEAD_BYTES = 128;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchBulkProperties properties;
+    private final RollingSearchIndex rollingSearchIndex;
+    private final BulkOptions bulkOptions;
+    private final BlockingQueue<SearchDocument> buffer;
+    private final Semaphore inFlight;
+    private final ExecutorService flushExecutor;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    private final Timer bulkSuccessTimer;
+    private final Timer bulkFailureTimer;
+    private final DistributionSummary bulkActions;
+    private final Counter indexedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+
+    public ElasticsearchBulkIndexer(ElasticsearchOperations elasticsearchOperations,
+                                    ElasticsearchBulkProperties properties, RollingSearchIndex rollingSearchIndex,
+                                    MeterRegistry meterRegistry) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.properties = properties;
+        this.rollingSearchIndex = rollingSearchIndex;
+        this.bulkOptions = BulkOptions.builder().withRefreshPolicy(properties.refreshPolicy()).build();
+        this.buffer = new ArrayBlockingQueue<>(properties.bufferCapacity());
+        this.inFlight = new Semaphore(properties.maxInFlight());
+        this.flushExecutor = Executors.newFixedThreadPool(properties.maxInFlight(),
+                Thread.ofPlatform().name("es-bulk-flush-", 0).daemon().factory());
+
+        Gauge.builder("gateway.es.bulk.buffered", buffer, BlockingQueue::size)
+                .description("Documents waiting to be sent in a bulk request")
+                .register(meterRegistry);
+        Gauge.builder("gateway.es.bulk.in_flight", inFlight,
+                        semaphore -> properties.maxInFlight() - semaphore.availablePermits())
+                .description("Bulk requests currently in flight")
+                .register(meterRegistry);
+        this.bulkSuccessTimer = Timer.builder("gateway.es.bulk").tag("result", "success").register(meterRegistry);
+        this.bulkFailureTimer = Timer.builder("gateway.es.bulk").tag("result", "failure").register(meterRegistry);
+        this.bulkActions = DistributionSummary.builder("gateway.es.bulk.actions")
+                .description("Documents per bulk request")
+                .register(meterRegistry);
+        this.indexedCounter = documentCounter(meterRegistry, "indexed");
+        this.failedCounter = documentCounter(meterRegistry, "failed");
+        this.rejectedCounter = documentCounter(meterRegistry, "rejected");
+
+        this.dispatcher = Thread.ofPlatform().name("es-bulk-dispatcher").daemon().start(this::dispatch);
+    }
+
+    private static Counter documentCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("gateway.es.bulk.documents")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a document for the next bulk request, waiting up to the configured offer timeout for
+     * buffer space. Returns false if the document was rejected because the pipeline is saturated.
+     */
+    public boolean offer(SearchDocument document) throws InterruptedException {
+        if (running && buffer.offer(document, properties.offerTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    private void dispatch() {
+        List<SearchDocument> batch = new ArrayList<>(properties.flushActions());
+        while (running || !buffer.isEmpty()) {
+            try {
+                fillBatch(batch);
+                if (!batch.isEmpty()) {
+                    inFlight.acquire();
+                    List<SearchDocument> toSend = batch;
+                    flushExecutor.execute(() -> send(toSend));
+                    batch = new ArrayList<>(properties.flushActions());
+                }
+            } catch (InterruptedException e) {
+                // Woken up by destroy(); the loop drains whatever is still buffered before exiting
+                running = false;
+            }
+        }
+        if (!batch.isEmpty()) {
+            inFlight.acquireUninterruptibly();
+            send(batch);
+        }
+    }
+
+    private void fillBatch(List<SearchDocument> batch) throws InterruptedException {
+        if (batch.size() >= properties.flushActions()) {
+            return;
+        }
+        long flushIntervalNanos = properties.flushInterval().toNanos();
+        long maxBytes = properties.flushSize().toBytes();
+        SearchDocument first = running
+                ? buffer.poll(flushIntervalNanos, TimeUnit.NANOSECONDS)
+                : buffer.poll();
+        if (first == null) {
+            return;
+        }
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        long bytes = add(batch, first);
+        while (batch.size() < properties.flushActions() && bytes < maxBytes) {
+            SearchDocument next = buffer.poll();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) {
+                    return;
+                }
+                next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+            }
+            bytes += add(batch, next);
+        }
+    }
+
+    private static long add(List<SearchDocument> batch, SearchDocument document) {
+        batch.add(document);
+        String content = document.getContent();
+        return ACTION_OVERHEAD_BYTES + (content == null ? 0 : content.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private void send(List<SearchDocument> batch) {
+        long start = System.nanoTime();
+        String index = null;
+        try {
+            rollingSearchIndex.ensureTemplate();
+            // Each action names its own index, so a batch spanning a rollover boundary is split correctly
+            List<IndexQuery> queries = new ArrayList<>(batch.size());
+            for (SearchDocument document : batch) {
+                index = rollingSearchIndex.indexFor(document.getTimestamp());
+                queries.add(new IndexQueryBuilder()
+                        .withId(document.getId())
+                        .withObject(document)
+                        .withIndex(index)
+                        .build());
+            }
+            elasticsearchOperations.bulkIndex(queries, bulkOptions, IndexCoordinates.of(index));
+            bulkSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            indexedCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            bulkFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            failedCounter.increment(batch.size());
+            logger.warn("Bulk request of {} documents to {} failed", batch.size(), index, e);
+        } finally {
+            bulkActions.record(batch.size());
+            inFlight.release();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        dispatcher.interrupt();
+        dispatcher.join(properties.flushInterval().toMillis() + 5000);
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
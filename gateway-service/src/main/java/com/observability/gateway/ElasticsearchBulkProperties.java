@@ -0,0 +1,24 @@
+package com.observability.gateway;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the /es-ops-bulk indexing pipeline. A batch is flushed when it reaches flushActions
+ * documents or flushSize bytes, or flushInterval after its first document, whichever comes first.
+ * Producers wait up to offerTimeout for buffer space once bufferCapacity documents are queued.
+ */
+@ConfigurationProperties(prefix = "gateway.es-bulk")
+public record ElasticsearchBulkProperties(
+        @DefaultValue("1000") int flushActions,
+        @DefaultValue("5MB") DataSize flushSize,
+        @DefaultValue("1s") Duration flushInterval,
+        @DefaultValue("2") int maxInFlight,
+        @DefaultValue("20000") int bufferCapacity,
+        @DefaultValue("100ms") Duration offerTimeout,
+        @DefaultValue("NONE") RefreshPolicy refreshPolicy) {
+}
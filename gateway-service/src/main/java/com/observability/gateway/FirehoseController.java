@@ -0,0 +1,40 @@
+package com.observability.gateway;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Starts, stops and reports on the {@link FirehoseGenerator}. Omitted parameters fall back to
+ * gateway.firehose; starting while running restarts with the new rate and thread count.
+ */
+@RestController
+public class FirehoseController {
+
+    private final FirehoseGenerator firehoseGenerator;
+    private final FirehoseProperties properties;
+
+    public FirehoseController(FirehoseGenerator firehoseGenerator, FirehoseProperties properties) {
+        this.firehoseGenerator = firehoseGenerator;
+        this.properties = properties;
+    }
+
+    @GetMapping("/firehose")
+    public FirehoseGenerator.Status status() {
+        return firehoseGenerator.status();
+    }
+
+    @PostMapping("/firehose/start")
+    public FirehoseGenerator.Status start(@RequestParam(required = false) Long spansPerSecond,
+                                          @RequestParam(required = false) Integer threads) {
+        long rate = Math.max(0, spansPerSecond != null ? spansPerSecond : properties.spansPerSecond());
+        int threadCount = Math.clamp(threads != null ? threads : properties.threads(), 1, properties.maxThreads());
+        return firehoseGenerator.start(rate, threadCount);
+    }
+
+    @PostMapping("/firehose/stop")
+    public FirehoseGenerator.Status stop() {
+        return firehoseGenerator.stop();
+    }
+}
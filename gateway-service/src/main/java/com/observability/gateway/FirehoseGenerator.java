@@ -0,0 +1,310 @@
+package com.observability.gateway;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.exporter.otlp.http.logs.OtlpHttpLogRecordExporter;
+import io.opentelemetry.exporter.otlp.http.metrics.OtlpHttpMetricExporter;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.export.BatchLogRecordProcessor;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Synthesizes the span trees, duration histograms and log records of the six gateway patterns without
+ * touching any downstream, so one JVM can push collector-scale volume. Telemetry goes through a
+ * dedicated SDK, one tracer/meter/logger provider per simulated service, exporting OTLP/HTTP to
+ * gateway.firehose.endpoint; the javaagent's own pipeline and sampling are not involved.
+ */
+@Component
+public class FirehoseGenerator implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(FirehoseGenerator.class);
+
+    private static final String INSTRUMENTATION_SCOPE = "com.observability.gateway.firehose";
+    private static final AttributeKey<Long> HTTP_STATUS = AttributeKey.longKey("http.response.status_code");
+    private static final AttributeKey<String> ERROR_TYPE = AttributeKey.stringKey("error.type");
+    // Once a thread is this far behind its schedule it starts over instead of bursting to catch up
+    private static final long MAX_LAG_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // The semantic conventions' recommended boundaries for durations recorded in seconds
+    private static final List<Double> DURATION_BUCKETS =
+            List.of(0.005, 0.01, 0.025, 0.05, 0.075, 0.1, 0.25, 0.5, 0.75, 1.0, 2.5, 5.0, 7.5, 10.0);
+
+    private final FirehoseProperties properties;
+    private final Map<FirehosePattern, Attributes> failedRootAttributes = new EnumMap<>(FirehosePattern.class);
+    private final int maxSpansPerTrace;
+
+    private final LongAdder traces = new LongAdder();
+    private final LongAdder spans = new LongAdder();
+    private final LongAdder logRecords = new LongAdder();
+
+    private Pipeline gateway;
+    private Pipeline processor;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+    private long spansPerSecond;
+
+    public FirehoseGenerator(FirehoseProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        int maxSpans = 0;
+        for (FirehosePattern pattern : FirehosePattern.values()) {
+            Attributes root = pattern.spans.get(0).attributes();
+            failedRootAttributes.put(pattern, root.toBuilder().put(HTTP_STATUS, 500L).put(ERROR_TYPE, "500").build());
+            maxSpans = Math.max(maxSpans, pattern.spans.size());
+        }
+        this.maxSpansPerTrace = maxSpans;
+
+        FunctionCounter.builder("gateway.firehose.traces", traces, LongAdder::sum)
+                .description("Synthetic traces generated by the firehose")
+                .register(meterRegistry);
+        FunctionCounter.builder("gateway.firehose.spans", spans, LongAdder::sum)
+                .description("Synthetic spans generated by the firehose")
+                .register(meterRegistry);
+        FunctionCounter.builder("gateway.firehose.logs", logRecords, LongAdder::sum)
+                .description("Synthetic log records generated by the firehose")
+                .register(meterRegistry);
+    }
+
+    public record Status(boolean running, long spansPerSecond, int threads, List<FirehosePattern> patterns,
+                         long traces, long spans, long logs) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void autoStart() {
+        if (properties.autoStart()) {
+            start(properties.spansPerSecond(), properties.threads());
+        }
+    }
+
+    public synchronized Status start(long spansPerSecond, int threads) {
+        if (threads < 1 || spansPerSecond < 0) {
+            throw new IllegalArgumentException("threads must be positive and spansPerSecond not negative");
+        }
+        stop();
+        if (gateway == null) {
+            gateway = new Pipeline("gateway-service", properties);
+            processor = new Pipeline("processor-service", properties);
+        }
+        this.spansPerSecond = spansPerSecond;
+        running = true;
+        double nanosPerSpan = spansPerSecond == 0 ? 0 : 1e9 * threads / spansPerSecond;
+        for (int i = 0; i < threads; i++) {
+            int offset = i;
+            workers.add(Thread.ofPlatform().name("firehose-", i).daemon()
+                    .start(() -> generate(offset, nanosPerSpan)));
+        }
+        logger.info("Firehose started: {} spans/s over {} threads to {}", spansPerSecond, threads, properties.endpoint());
+        return status();
+    }
+
+    public synchronized Status stop() {
+        if (!running) {
+            return status();
+        }
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+        gateway.flush();
+        processor.flush();
+        logger.info("Firehose stopped after {} traces, {} spans", traces.sum(), spans.sum());
+        return status();
+    }
+
+    public synchronized Status status() {
+        return new Status(running, spansPerSecond, workers.size(), properties.patterns(),
+                traces.sum(), spans.sum(), logRecords.sum());
+    }
+
+    @Override
+    public synchronized void destroy() {
+        stop();
+        if (gateway != null) {
+            gateway.shutdown();
+            processor.shutdown();
+        }
+    }
+
+    private void generate(int offset, double nanosPerSpan) {
+        List<FirehosePattern> patterns = properties.patterns();
+        SplittableRandom random = new SplittableRandom();
+        Span[] trace = new Span[maxSpansPerTrace];
+        long scheduleStart = System.nanoTime();
+        long emitted = 0;
+        for (int next = offset % patterns.size(); running; next = (next + 1) % patterns.size()) {
+            emitted += emitTrace(patterns.get(next), trace, random);
+            if (nanosPerSpan > 0) {
+                long wait = scheduleStart + (long) (emitted * nanosPerSpan) - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else if (wait < -MAX_LAG_NANOS) {
+                    scheduleStart = System.nanoTime();
+                    emitted = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Emits one trace that ends now. All offsets and durations are scaled by the same random factor,
+     * so children stay inside their parents' time window.
+     */
+    private int emitTrace(FirehosePattern pattern, Span[] trace, SplittableRandom random) {
+        List<FirehosePattern.SpanTemplate> templates = pattern.spans;
+        double scale = 1000 * (0.5 + random.nextDouble());
+        long rootStart = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis())
+                - (long) (templates.get(0).durationMicros() * scale);
+        boolean failed = random.nextDouble() < properties.errorRatio();
+
+        for (int i = 0; i < templates.size(); i++) {
+            FirehosePattern.SpanTemplate template = templates.get(i);
+            Pipeline pipeline = template.processor() ? processor : gateway;
+            Attributes attributes = failed && i == 0 ? failedRootAttributes.get(pattern) : template.attributes();
+            long start = rootStart + (long) (template.offsetMicros() * scale);
+            long duration = (long) (template.durationMicros() * scale);
+
+            SpanBuilder builder = pipeline.tracer.spanBuilder(template.name())
+                    .setSpanKind(template.kind())
+                    .setAllAttributes(attributes)
+                    .setStartTimestamp(start, TimeUnit.NANOSECONDS);
+            if (template.parent() < 0) {
+                builder.setNoParent();
+            } else {
+                builder.setParent(Context.root().with(trace[template.parent()]));
+            }
+            Span span = builder.startSpan();
+            if (failed && i == 0) {
+                span.setStatus(StatusCode.ERROR);
+            }
+            span.end(start + duration, TimeUnit.NANOSECONDS);
+            trace[i] = span;
+            pipeline.histograms.get(template.metric()).record(duration / 1e9, attributes);
+        }
+
+        int logs = properties.logsPerTrace();
+        if (logs > 0) {
+            Context rootContext = Context.root().with(trace[0]);
+            for (int i = 0; i < logs; i++) {
+                gateway.logger.logRecordBuilder()
+                        .setTimestamp(rootStart, TimeUnit.NANOSECONDS)
+                        .setContext(rootContext)
+                        .setSeverity(failed ? Severity.ERROR : Severity.INFO)
+                        .setSeverityText(failed ? "ERROR" : "INFO")
+                        .setBody(pattern.logBody)
+                        .emit();
+            }
+            logRecords.add(logs);
+        }
+        traces.increment();
+        spans.add(templates.size());
+        return templates.size();
+    }
+
+    /** Tracer, histograms and logger of one simulated service, each backed by its own batch exporter. */
+    private static final class Pipeline {
+
+        final SdkTracerProvider tracerProvider;
+        final SdkMeterProvider meterProvider;
+        final SdkLoggerProvider loggerProvider;
+        final Tracer tracer;
+        final Map<FirehosePattern.Metric, DoubleHistogram> histograms = new EnumMap<>(FirehosePattern.Metric.class);
+        final io.opentelemetry.api.logs.Logger logger;
+
+        Pipeline(String serviceName, FirehoseProperties properties) {
+            Resource resource = Resource.getDefault().toBuilder()
+                    .put("service.name", serviceName)
+                    .put("service.namespace", "observability")
+                    .put("service.version", "1.0.0")
+                    .put("telemetry.synthetic", true)
+                    .build();
+            String endpoint = properties.endpoint();
+
+            meterProvider = SdkMeterProvider.builder()
+                    .setResource(resource)
+                    .registerMetricReader(PeriodicMetricReader.builder(
+                                    OtlpHttpMetricExporter.builder().setEndpoint(endpoint + "/v1/metrics").build())
+                            .setInterval(properties.metricInterval())
+                            .build())
+                    .build();
+            // The batch processors report their own queue depth and dropped counts through meterProvider
+            tracerProvider = SdkTracerProvider.builder()
+                    .setResource(resource)
+                    .setSampler(Sampler.alwaysOn())
+                    .addSpanProcessor(BatchSpanProcessor.builder(
+                                    OtlpHttpSpanExporter.builder().setEndpoint(endpoint + "/v1/traces").build())
+                            .setMaxQueueSize(properties.maxQueueSize())
+                            .setMaxExportBatchSize(properties.maxExportBatchSize())
+                            .setScheduleDelay(properties.scheduleDelay())
+                            .setMeterProvider(meterProvider)
+                            .build())
+                    .build();
+            loggerProvider = SdkLoggerProvider.builder()
+                    .setResource(resource)
+                    .addLogRecordProcessor(BatchLogRecordProcessor.builder(
+                                    OtlpHttpLogRecordExporter.builder().setEndpoint(endpoint + "/v1/logs").build())
+                            .setMaxQueueSize(properties.maxQueueSize())
+                            .setMaxExportBatchSize(properties.maxExportBatchSize())
+                            .setScheduleDelay(properties.scheduleDelay())
+                            .setMeterProvider(meterProvider)
+                            .build())
+                    .build();
+
+            tracer = tracerProvider.get(INSTRUMENTATION_SCOPE);
+            logger = loggerProvider.get(INSTRUMENTATION_SCOPE);
+            Meter meter = meterProvider.get(INSTRUMENTATION_SCOPE);
+            for (FirehosePattern.Metric metric : FirehosePattern.Metric.values()) {
+                histograms.put(metric, meter.histogramBuilder(metric.instrument)
+                        .setUnit("s")
+                        .setExplicitBucketBoundariesAdvice(DURATION_BUCKETS)
+                        .build());
+            }
+        }
+
+        void flush() {
+            tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+            loggerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+            meterProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        }
+
+        void shutdown() {
+            tracerProvider.shutdown().join(10, TimeUnit.SECONDS);
+            loggerProvider.shutdown().join(10, TimeUnit.SECONDS);
+            meterProvider.shutdown().join(10, TimeUnit.SECONDS);
+        }
+    }
+}
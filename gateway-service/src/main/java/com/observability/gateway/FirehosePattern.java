@@ -0,0 +1,170 @@
+package com.observability.gateway;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+
+import java.util.List;
+
+/**
+ * Span trees the firehose synthesizes, one per gateway endpoint, shaped like the traces the javaagent
+ * records for the real round trips. Attributes are built once here and shared by every generated span.
+ */
+enum FirehosePattern {
+
+    REST_CHAIN("/rest-chain", List.of(
+            server(26_000, "GET /rest-chain", http("GET", "/rest-chain")),
+            client(0, 1_000, 24_000, "GET", Metric.HTTP_CLIENT, Attributes.builder()
+                    .put("http.request.method", "GET")
+                    .put("url.full", "http://processor-service:9981/api/process")
+                    .put("server.address", "processor-service")
+                    .put("server.port", 9981L)
+                    .put("http.response.status_code", 200L)
+                    .build()),
+            processor(1, 2_000, 22_000, "GET /api/process", SpanKind.SERVER, Metric.HTTP_SERVER,
+                    http("GET", "/api/process")))),
+
+    KAFKA_RR("/kafka-rr", List.of(
+            server(58_000, "GET /kafka-rr", http("GET", "/kafka-rr")),
+            producer(0, 1_000, 2_000, "gateway-processor-request publish", "gateway-processor-request"),
+            processor(1, 5_000, 33_000, "gateway-processor-request process", SpanKind.CONSUMER, Metric.MESSAGING,
+                    messaging("gateway-processor-request", "process")),
+            processor(2, 36_000, 2_000, "gateway-processor-reply publish", SpanKind.PRODUCER, Metric.MESSAGING,
+                    messaging("gateway-processor-reply", "send")),
+            span(false, 3, 42_000, 1_000, "gateway-processor-reply process", SpanKind.CONSUMER, Metric.MESSAGING,
+                    messaging("gateway-processor-reply", "process")))),
+
+    KAFKA_FF("/kafka-ff", List.of(
+            server(19_000, "GET /kafka-ff", http("GET", "/kafka-ff")),
+            producer(0, 1_000, 2_000, "gateway-processor-fire-forget publish", "gateway-processor-fire-forget"),
+            processor(1, 6_000, 27_000, "gateway-processor-fire-forget process", SpanKind.CONSUMER, Metric.MESSAGING,
+                    messaging("gateway-processor-fire-forget", "process")))),
+
+    DB_OPS("/db-ops", List.of(
+            server(14_000, "GET /db-ops", http("GET", "/db-ops")),
+            client(0, 1_000, 1_500, "INSERT observability.key_value_store", Metric.DB,
+                    database("INSERT", "insert into key_value_store (updated_at,value,key) values (?,?,?)")),
+            client(0, 2_800, 900, "SELECT observability.key_value_store", Metric.DB,
+                    database("SELECT", "select kve1_0.key,kve1_0.updated_at,kve1_0.value from key_value_store kve1_0 where kve1_0.key=?")))),
+
+    ES_OPS("/es-ops", List.of(
+            server(16_000, "GET /es-ops", http("GET", "/es-ops")),
+            client(0, 1_000, 2_500, "index", Metric.DB, elasticsearch("index", "PUT")),
+            client(0, 3_800, 1_200, "get", Metric.DB, elasticsearch("get", "GET")))),
+
+    GRPC("/grpc", List.of(
+            server(15_000, "GET /grpc", http("GET", "/grpc")),
+            client(0, 1_000, 13_000, "processor.ProcessorService/ProcessData", Metric.RPC_CLIENT, rpc()),
+            processor(1, 1_500, 12_000, "processor.ProcessorService/ProcessData", SpanKind.SERVER, Metric.RPC_SERVER,
+                    rpc())));
+
+    /** Duration histogram a span's timing is also recorded into, named after the semantic conventions. */
+    enum Metric {
+        HTTP_SERVER("http.server.request.duration"),
+        HTTP_CLIENT("http.client.request.duration"),
+        MESSAGING("messaging.client.operation.duration"),
+        DB("db.client.operation.duration"),
+        RPC_SERVER("rpc.server.duration"),
+        RPC_CLIENT("rpc.client.duration");
+
+        final String instrument;
+
+        Metric(String instrument) {
+            this.instrument = instrument;
+        }
+    }
+
+    /**
+     * One span of the tree. parent indexes an earlier span of the same pattern (-1 for the root);
+     * offset and duration are nominal microseconds, scaled by a per-trace jitter factor.
+     */
+    record SpanTemplate(boolean processor, int parent, long offsetMicros, long durationMicros, String name,
+                        SpanKind kind, Metric metric, Attributes attributes) {
+    }
+
+    final String route;
+    final List<SpanTemplate> spans;
+    final String logBody;
+
+    FirehosePattern(String route, List<SpanTemplate> spans) {
+        this.route = route;
+        this.spans = spans;
+        this.logBody = "Gateway service received " + route.substring(1) + " request";
+    }
+
+    private static SpanTemplate server(long durationMicros, String name, Attributes attributes) {
+        return span(false, -1, 0, durationMicros, name, SpanKind.SERVER, Metric.HTTP_SERVER, attributes);
+    }
+
+    private static SpanTemplate client(int parent, long offsetMicros, long durationMicros, String name,
+                                       Metric metric, Attributes attributes) {
+        return span(false, parent, offsetMicros, durationMicros, name, SpanKind.CLIENT, metric, attributes);
+    }
+
+    private static SpanTemplate producer(int parent, long offsetMicros, long durationMicros, String name, String topic) {
+        return span(false, parent, offsetMicros, durationMicros, name, SpanKind.PRODUCER, Metric.MESSAGING,
+                messaging(topic, "send"));
+    }
+
+    private static SpanTemplate processor(int parent, long offsetMicros, long durationMicros, String name,
+                                          SpanKind kind, Metric metric, Attributes attributes) {
+        return span(true, parent, offsetMicros, durationMicros, name, kind, metric, attributes);
+    }
+
+    private static SpanTemplate span(boolean processor, int parent, long offsetMicros, long durationMicros,
+                                     String name, SpanKind kind, Metric metric, Attributes attributes) {
+        return new SpanTemplate(processor, parent, offsetMicros, durationMicros, name, kind, metric, attributes);
+    }
+
+    private static Attributes http(String method, String route) {
+        return Attributes.builder()
+                .put("http.request.method", method)
+                .put("http.route", route)
+                .put("url.path", route)
+                .put("url.scheme", "http")
+                .put("http.response.status_code", 200L)
+                .build();
+    }
+
+    private static Attributes messaging(String topic, String operation) {
+        return Attributes.builder()
+                .put("messaging.system", "kafka")
+                .put("messaging.destination.name", topic)
+                .put("messaging.operation.type", operation)
+                .put("messaging.destination.partition.id", "0")
+                .build();
+    }
+
+    private static Attributes database(String operation, String statement) {
+        return Attributes.builder()
+                .put("db.system", "postgresql")
+                .put("db.namespace", "observability")
+                .put("db.operation.name", operation)
+                .put("db.collection.name", "key_value_store")
+                .put("db.query.text", statement)
+                .put("server.address", "postgres-db")
+                .put("server.port", 5432L)
+                .build();
+    }
+
+    private static Attributes elasticsearch(String operation, String method) {
+        return Attributes.builder()
+                .put("db.system", "elasticsearch")
+                .put("db.operation.name", operation)
+                .put("http.request.method", method)
+                .put("url.full", "http://elasticsearch:9200/observability-test/_doc/test-doc")
+                .put("server.address", "elasticsearch")
+                .put("server.port", 9200L)
+                .build();
+    }
+
+    private static Attributes rpc() {
+        return Attributes.builder()
+                .put("rpc.system", "grpc")
+                .put("rpc.service", "processor.ProcessorService")
+                .put("rpc.method", "ProcessData")
+                .put("rpc.grpc.status_code", 0L)
+                .put("server.address", "processor-service")
+                .put("server.port", 9090L)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.observability.gateway;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for the synthetic telemetry firehose. spansPerSecond is split evenly across the generator
+ * threads (0 runs them unthrottled), and POST /firehose/start caps its threads parameter at maxThreads.
+ * The queue, batch and delay settings size the firehose's own batch processors, which export straight
+ * to endpoint independently of the javaagent's pipeline. patterns must not be empty.
+ */
+@ConfigurationProperties(prefix = "gateway.firehose")
+public record FirehoseProperties(
+        @DefaultValue("false") boolean autoStart,
+        @DefaultValue("http://localhost:4318") String endpoint,
+        @DefaultValue("100000") long spansPerSecond,
+        @DefaultValue("4") int threads,
+        @DefaultValue("16") int maxThreads,
+        @DefaultValue("rest-chain,kafka-rr,kafka-ff,db-ops,grpc,es-ops") List<FirehosePattern> patterns,
+        @DefaultValue("1") int logsPerTrace,
+        @DefaultValue("0.01") double errorRatio,
+        @DefaultValue("262144") int maxQueueSize,
+        @DefaultValue("8192") int maxExportBatchSize,
+        @DefaultValue("200ms") Duration scheduleDelay,
+        @DefaultValue("10s") Duration metricInterval) {
+
+    public FirehoseProperties {
+        if (patterns == null || patterns.isEmpty()) {
+            throw new IllegalArgumentException("gateway.firehose.patterns must name at least one pattern");
+        }
+        patterns = List.copyOf(patterns);
+    }
+}
@@ -1,28 +1,39 @@
 package com.observability.gateway;
 
+import com.observability.gateway.EndpointMetrics.Phase;
+import com.observability.gateway.GatewayResponses.BulkDatabase;
+import com.observability.gateway.GatewayResponses.BulkElasticsearch;
+import com.observability.gateway.GatewayResponses.Database;
+import com.observability.gateway.GatewayResponses.DatabaseRecord;
+import com.observability.gateway.GatewayResponses.Elasticsearch;
+import com.observability.gateway.GatewayResponses.ElasticsearchDocument;
+import com.observability.gateway.GatewayResponses.FireAndForget;
+import com.observability.gateway.GatewayResponses.Grpc;
+import com.observability.gateway.GatewayResponses.ProcessorData;
+import com.observability.gateway.GatewayResponses.ProcessorReply;
+import com.observability.gateway.GatewayResponses.Search;
 import com.observability.processor.grpc.ProcessRequest;
 import com.observability.processor.grpc.ProcessResponse;
 import com.observability.processor.grpc.ProcessorServiceGrpc;
-import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.UUID;
 
 @RestController
 public class GatewayController {
@@ -30,276 +41,346 @@ public class GatewayController {
     private static final Logger logger = LoggerFactory.getLogger(GatewayController.class);
     private static final String DB_TEST_KEY = "test-key";
     private static final String ES_TEST_DOC_ID = "test-doc";
-
-    @GrpcClient("processor-service")
-    private ProcessorServiceGrpc.ProcessorServiceBlockingStub processorServiceStub;
+    private static final String NOT_FOUND = "Not found";
+    private static final String DB_BULK_KEY_PREFIX = "bulk-key-";
+    private static final int DB_BULK_MAX_BATCH = 5000;
+    private static final int ES_BULK_MAX_DOCS = 5000;
 
     private final RestTemplate restTemplate;
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final KeyValueRepository keyValueRepository;
     private final SearchDocumentRepository searchDocumentRepository;
-    private final ConcurrentHashMap<String, CompletableFuture<String>> pendingRequests = new ConcurrentHashMap<>();
+    private final KafkaReplyCorrelator kafkaReplyCorrelator;
+    private final KafkaSendMonitor kafkaSendMonitor;
+    private final ElasticsearchBulkIndexer elasticsearchBulkIndexer;
+    private final SearchWorkload searchWorkload;
+    private final LatencyInjector latencyInjector;
+    private final ProcessorServiceGrpc.ProcessorServiceBlockingStub processorServiceStub;
+    private final ProcessorGrpcProperties grpcProperties;
+
+    private final EndpointMetrics.Endpoint restChainMetrics;
+    private final EndpointMetrics.Endpoint kafkaRequestReplyMetrics;
+    private final EndpointMetrics.Endpoint kafkaFireAndForgetMetrics;
+    private final EndpointMetrics.Endpoint databaseMetrics;
+    private final EndpointMetrics.Endpoint elasticsearchMetrics;
+    private final EndpointMetrics.Endpoint grpcMetrics;
 
     public GatewayController(RestTemplate restTemplate, KafkaTemplate<String, String> kafkaTemplate,
-                           KeyValueRepository keyValueRepository, SearchDocumentRepository searchDocumentRepository) {
+                           KafkaReplyCorrelator kafkaReplyCorrelator, KafkaSendMonitor kafkaSendMonitor,
+                           KeyValueRepository keyValueRepository, SearchDocumentRepository searchDocumentRepository,
+                           ElasticsearchBulkIndexer elasticsearchBulkIndexer, SearchWorkload searchWorkload,
+                           LatencyInjector latencyInjector, EndpointMetrics endpointMetrics,
+                           ProcessorChannelPool processorChannelPool, ProcessorGrpcProperties grpcProperties) {
         this.restTemplate = restTemplate;
         this.kafkaTemplate = kafkaTemplate;
+        this.kafkaReplyCorrelator = kafkaReplyCorrelator;
+        this.kafkaSendMonitor = kafkaSendMonitor;
         this.keyValueRepository = keyValueRepository;
         this.searchDocumentRepository = searchDocumentRepository;
-    }
-
-    @KafkaListener(topics = "gateway-processor-reply")
-    public void handleProcessorReply(@Payload String message,
-                                   @Header(KafkaHeaders.RECEIVED_KEY) String correlationId) {
-        logger.info("Gateway received Kafka reply with correlationId: {}", correlationId);
-
-        CompletableFuture<String> future = pendingRequests.remove(correlationId);
-        if (future != null) {
-            future.complete(message);
-        }
+        this.elasticsearchBulkIndexer = elasticsearchBulkIndexer;
+        this.searchWorkload = searchWorkload;
+        this.latencyInjector = latencyInjector;
+        this.processorServiceStub = ProcessorServiceGrpc.newBlockingStub(processorChannelPool);
+        this.grpcProperties = grpcProperties;
+        this.restChainMetrics = endpointMetrics.endpoint("rest-chain");
+        this.kafkaRequestReplyMetrics = endpointMetrics.endpoint("kafka-rr");
+        this.kafkaFireAndForgetMetrics = endpointMetrics.endpoint("kafka-ff");
+        this.databaseMetrics = endpointMetrics.endpoint("db-ops");
+        this.elasticsearchMetrics = endpointMetrics.endpoint("es-ops");
+        this.grpcMetrics = endpointMetrics.endpoint("grpc");
     }
 
     @GetMapping("/rest-chain")
-    public Map<String, Object> restChain() {
+    public CompletableFuture<ProcessorReply> restChain() {
         logger.info("Gateway service received rest-chain request");
+        return restChainMetrics.track(() -> latencyInjector.delay("rest-chain", this::callProcessorRest));
+    }
 
-        try {
-            Thread.sleep(20);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        logger.info("Calling processor service");
+    private ProcessorReply callProcessorRest() {
+        logger.debug("Calling processor service");
 
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> processorData = restTemplate.getForObject(
+            ProcessorData processorData = restChainMetrics.time(Phase.DOWNSTREAM, () -> restTemplate.getForObject(
                 "http://processor-service:9981/api/process",
-                Map.class
-            );
+                ProcessorData.class
+            ));
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Hello World!");
-            response.put("service", "gateway-service");
-            response.put("timestamp", LocalDateTime.now().toString());
-            response.put("processorResponse", processorData);
+            ProcessorReply response = restChainResponse(processorData);
 
             logger.info("Gateway service returning rest-chain response");
             return response;
         } catch (Exception e) {
             logger.error("Error calling processor service", e);
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Hello World - Error!");
-            errorResponse.put("service", "gateway-service");
-            errorResponse.put("timestamp", LocalDateTime.now().toString());
-            errorResponse.put("error", "Failed to call processor service");
-            return errorResponse;
+            return ProcessorReply.failed(ProcessorReply.REST_CHAIN_ERROR, "Failed to call processor service");
         }
     }
 
     @GetMapping("/kafka-rr")
-    public Map<String, Object> kafkaRequestReply() {
+    public CompletableFuture<ProcessorReply> kafkaRequestReply() {
         logger.info("Gateway service received kafka-rr request");
+        return kafkaRequestReplyMetrics.track(() -> latencyInjector.delay("kafka-rr", this::requestReplyOverKafka));
+    }
 
-        try {
-            Thread.sleep(20);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        logger.info("Sending Kafka request to processor service");
+    private ProcessorReply requestReplyOverKafka() {
+        logger.debug("Sending Kafka request to processor service");
         
-        String correlationId = UUID.randomUUID().toString();
-        CompletableFuture<String> future = new CompletableFuture<>();
-        pendingRequests.put(correlationId, future);
-        
-        try {
-            kafkaTemplate.send("gateway-processor-request", correlationId, "kafka-rr-request");
-            String processorResponse = future.get(10, TimeUnit.SECONDS);
+        KafkaReplyCorrelator.PendingReply pendingReply = null;
+        long downstreamStart = System.nanoTime();
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Hello World via Kafka!");
-            response.put("service", "gateway-service");
-            response.put("timestamp", LocalDateTime.now().toString());
-            response.put("processorResponse", processorResponse);
+        try {
+            pendingReply = kafkaReplyCorrelator.register();
+            ProducerRecord<String, String> request = kafkaReplyCorrelator.requestRecord(pendingReply, "kafka-rr-request");
+            String correlationId = pendingReply.correlationId();
+            kafkaSendMonitor.track(request.topic(), () -> kafkaTemplate.send(request))
+                    .whenComplete((sendResult, e) -> {
+                        if (e != null) {
+                            kafkaReplyCorrelator.fail(correlationId, e);
+                        }
+                    });
+            Object processorResponse = pendingReply.future()
+                    .get(kafkaReplyCorrelator.replyTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            kafkaRequestReplyMetrics.recordSince(Phase.DOWNSTREAM, downstreamStart);
+
+            ProcessorReply response = ProcessorReply.of(ProcessorReply.KAFKA, processorResponse);
 
             logger.info("Gateway service returning kafka-rr response");
             return response;
         } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            kafkaRequestReplyMetrics.recordSince(Phase.DOWNSTREAM, downstreamStart);
             logger.error("Error in kafka-rr Kafka request-reply", e);
-            pendingRequests.remove(correlationId);
-
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Hello World via Kafka - Error!");
-            errorResponse.put("service", "gateway-service");
-            errorResponse.put("timestamp", LocalDateTime.now().toString());
-            errorResponse.put("error", "Failed to get response from processor: " + e.getMessage());
-            return errorResponse;
+            if (pendingReply != null) {
+                kafkaReplyCorrelator.cancel(pendingReply.correlationId());
+            }
+
+            return ProcessorReply.failed(ProcessorReply.KAFKA_ERROR,
+                    "Failed to get response from processor: " + e.getMessage());
         }
     }
 
     @GetMapping("/kafka-ff")
-    public Map<String, Object> kafkaFireAndForget() {
+    public CompletableFuture<FireAndForget> kafkaFireAndForget() {
         logger.info("Gateway service received kafka-ff request");
+        return kafkaFireAndForgetMetrics.track(() -> latencyInjector.delay("kafka-ff", this::fireAndForgetOverKafka));
+    }
 
-        try {
-            Thread.sleep(15);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        logger.info("Sending fire-and-forget Kafka request to processor service");
+    private FireAndForget fireAndForgetOverKafka() {
+        logger.debug("Sending fire-and-forget Kafka request to processor service");
 
         String correlationId = UUID.randomUUID().toString();
-        kafkaTemplate.send("gateway-processor-fire-forget", correlationId, "kafka-ff-request");
+        // Only the hand-off to the producer; the send is acknowledged asynchronously
+        long downstreamStart = System.nanoTime();
+        kafkaSendMonitor.track("gateway-processor-fire-forget",
+                () -> kafkaTemplate.send("gateway-processor-fire-forget", correlationId, "kafka-ff-request"));
+        kafkaFireAndForgetMetrics.recordSince(Phase.DOWNSTREAM, downstreamStart);
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", "Hello World Fire-and-Forget!");
-        response.put("service", "gateway-service");
-        response.put("timestamp", LocalDateTime.now().toString());
-        response.put("correlationId", correlationId);
-        response.put("status", "Request sent, no response expected");
+        FireAndForget response = FireAndForget.of(correlationId);
 
         logger.info("Gateway service returning kafka-ff response immediately");
         return response;
     }
 
     @GetMapping("/db-ops")
-    public Map<String, Object> databaseOperations() {
+    public CompletableFuture<Database> databaseOperations() {
         logger.info("Gateway service received db-ops request - testing database operations");
+        return databaseMetrics.track(() -> latencyInjector.delay("db-ops", this::writeAndReadDatabase));
+    }
 
-        try {
-            Thread.sleep(10);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
+    private Database writeAndReadDatabase() {
         LocalDateTime now = LocalDateTime.now();
         String newValue = "Updated at " + now.toString();
 
         // Write to database
-        logger.info("Writing to database with key: {}", DB_TEST_KEY);
+        logger.debug("Writing to database with key: {}", DB_TEST_KEY);
         KeyValueEntity entity = new KeyValueEntity(DB_TEST_KEY, newValue, now);
+        long downstreamStart = System.nanoTime();
         keyValueRepository.save(entity);
-        logger.info("Successfully wrote to database");
+        databaseMetrics.recordSince(Phase.DOWNSTREAM, downstreamStart);
+        logger.debug("Successfully wrote to database");
 
         // Read from database
-        logger.info("Reading from database with key: {}", DB_TEST_KEY);
+        logger.debug("Reading from database with key: {}", DB_TEST_KEY);
+        downstreamStart = System.nanoTime();
         Optional<KeyValueEntity> readEntity = keyValueRepository.findById(DB_TEST_KEY);
-        logger.info("Successfully read from database");
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", "Hello World with Database!");
-        response.put("service", "gateway-service");
-        response.put("timestamp", now.toString());
-        response.put("databaseOperation", "write and read");
-        response.put("key", DB_TEST_KEY);
-
-        if (readEntity.isPresent()) {
-            KeyValueEntity dbEntity = readEntity.get();
-            Map<String, String> dbData = new HashMap<>();
-            dbData.put("key", dbEntity.getKey());
-            dbData.put("value", dbEntity.getValue());
-            dbData.put("updatedAt", dbEntity.getUpdatedAt().toString());
-            response.put("databaseRecord", dbData);
-        } else {
-            response.put("databaseRecord", "Not found");
-        }
+        databaseMetrics.recordSince(Phase.DOWNSTREAM, downstreamStart);
+        logger.debug("Successfully read from database");
+
+        Object databaseRecord = readEntity
+                .<Object>map(dbEntity -> new DatabaseRecord(dbEntity.getKey(), dbEntity.getValue(), dbEntity.getUpdatedAt()))
+                .orElse(NOT_FOUND);
+        Database response = Database.of(DB_TEST_KEY, databaseRecord);
 
         logger.info("Gateway service returning db-ops response");
         return response;
     }
 
-    @GetMapping("/es-ops")
-    public Map<String, Object> elasticsearchOperations() {
-        logger.info("Gateway service received es-ops request - testing Elasticsearch operations");
+    /**
+     * Upserts a batch of keys drawn from a keyspace of the given size in one JDBC batch, then
+     * reads them back with a single multi-get. Keys within a batch are distinct, so the batch
+     * never updates the same row twice.
+     */
+    @GetMapping("/db-ops-bulk")
+    public BulkDatabase bulkDatabaseOperations(@RequestParam(defaultValue = "100") int batch,
+                                               @RequestParam(defaultValue = "10000") int keyspace) {
+        int keyspaceSize = Math.max(1, keyspace);
+        int batchSize = Math.min(Math.min(Math.max(1, batch), DB_BULK_MAX_BATCH), keyspaceSize);
+        logger.info("Gateway service received db-ops-bulk request - batch {} over keyspace {}", batchSize, keyspaceSize);
+
+        LocalDateTime now = LocalDateTime.now();
+        String newValue = "Updated at " + now.toString();
 
+        Set<String> keys = new LinkedHashSet<>(batchSize * 2);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (keys.size() < batchSize) {
+            keys.add(DB_BULK_KEY_PREFIX + random.nextInt(keyspaceSize));
+        }
+        List<KeyValueEntity> entities = new ArrayList<>(batchSize);
+        for (String key : keys) {
+            entities.add(new KeyValueEntity(key, newValue, now));
+        }
+
+        BulkDatabase response;
         try {
-            Thread.sleep(10);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            int rowsWritten = keyValueRepository.upsertAll(entities);
+            List<KeyValueEntity> readEntities = keyValueRepository.findAllById(keys);
+            logger.debug("Successfully upserted {} and read {} records", rowsWritten, readEntities.size());
+
+            response = BulkDatabase.of(batchSize, keyspaceSize, rowsWritten, readEntities.size());
+        } catch (Exception e) {
+            logger.error("Error in db-ops-bulk database operations", e);
+            response = BulkDatabase.failed(batchSize, keyspaceSize, "Failed bulk database operations: " + e.getMessage());
         }
 
+        logger.info("Gateway service returning db-ops-bulk response");
+        return response;
+    }
+
+    @GetMapping("/es-ops")
+    public CompletableFuture<Elasticsearch> elasticsearchOperations() {
+        logger.info("Gateway service received es-ops request - testing Elasticsearch operations");
+        return elasticsearchMetrics.track(() -> latencyInjector.delay("es-ops", this::writeAndReadElasticsearch));
+    }
+
+    private Elasticsearch writeAndReadElasticsearch() {
         LocalDateTime now = LocalDateTime.now();
         String newContent = "Indexed at " + now;
 
         // Write to Elasticsearch
-        logger.info("Writing to Elasticsearch with document ID: {}", ES_TEST_DOC_ID);
+        logger.debug("Writing to Elasticsearch with document ID: {}", ES_TEST_DOC_ID);
         SearchDocument document = new SearchDocument(ES_TEST_DOC_ID, newContent, now);
+        long downstreamStart = System.nanoTime();
         searchDocumentRepository.save(document);
-        logger.info("Successfully wrote to Elasticsearch");
+        elasticsearchMetrics.recordSince(Phase.DOWNSTREAM, downstreamStart);
+        logger.debug("Successfully wrote to Elasticsearch");
 
         // Read from Elasticsearch
-        logger.info("Reading from Elasticsearch with document ID: {}", ES_TEST_DOC_ID);
+        logger.debug("Reading from Elasticsearch with document ID: {}", ES_TEST_DOC_ID);
+        downstreamStart = System.nanoTime();
         Optional<SearchDocument> readDocument = searchDocumentRepository.findById(ES_TEST_DOC_ID);
-        logger.info("Successfully read from Elasticsearch");
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", "Hello World with Elasticsearch!");
-        response.put("service", "gateway-service");
-        response.put("timestamp", now.toString());
-        response.put("elasticsearchOperation", "write and read");
-        response.put("documentId", ES_TEST_DOC_ID);
-
-        if (readDocument.isPresent()) {
-            SearchDocument esDoc = readDocument.get();
-            Map<String, String> esData = new HashMap<>();
-            esData.put("id", esDoc.getId());
-            esData.put("content", esDoc.getContent());
-            esData.put("timestamp", esDoc.getTimestamp().toString());
-            response.put("elasticsearchDocument", esData);
-        } else {
-            response.put("elasticsearchDocument", "Not found");
-        }
+        elasticsearchMetrics.recordSince(Phase.DOWNSTREAM, downstreamStart);
+        logger.debug("Successfully read from Elasticsearch");
+
+        Object elasticsearchDocument = readDocument
+                .<Object>map(esDoc -> new ElasticsearchDocument(esDoc.getId(), esDoc.getContent(), esDoc.getTimestamp()))
+                .orElse(NOT_FOUND);
+        Elasticsearch response = Elasticsearch.of(ES_TEST_DOC_ID, elasticsearchDocument);
 
         logger.info("Gateway service returning es-ops response");
         return response;
     }
 
-    @GetMapping("/grpc")
-    public Map<String, Object> grpcCommunication() {
-        logger.info("Gateway service received grpc request - testing gRPC communication");
+    /**
+     * Hands generated documents with varied content to the bulk indexing pipeline and returns without
+     * waiting for them to be indexed. Documents the pipeline cannot take within its offer timeout are
+     * reported as rejected.
+     */
+    @GetMapping("/es-ops-bulk")
+    public BulkElasticsearch bulkElasticsearchOperations(@RequestParam(defaultValue = "10") int docs) {
+        int documentCount = Math.min(Math.max(1, docs), ES_BULK_MAX_DOCS);
+        logger.info("Gateway service received es-ops-bulk request - queueing {} documents", documentCount);
 
+        LocalDateTime now = LocalDateTime.now();
+
+        int accepted = 0;
         try {
-            Thread.sleep(10);
+            for (int i = 0; i < documentCount; i++) {
+                if (!elasticsearchBulkIndexer.offer(SearchDocumentGenerator.generate(now))) {
+                    break;
+                }
+                accepted++;
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
 
-        logger.info("Sending gRPC request to processor service");
+        String error = accepted < documentCount
+                ? "Bulk indexing pipeline saturated, rejected " + (documentCount - accepted) + " documents"
+                : null;
+        BulkElasticsearch response = BulkElasticsearch.of(accepted, error);
+
+        logger.info("Gateway service returning es-ops-bulk response");
+        return response;
+    }
+
+    /**
+     * Runs one query of the given type (full_text, range, aggregation, or mixed for a random one)
+     * against the rolling indices populated by /es-ops-bulk.
+     */
+    @GetMapping("/es-search")
+    public Search elasticsearchSearch(@RequestParam(defaultValue = "mixed") String type) {
+        logger.info("Gateway service received es-search request - type {}", type);
+
+        Search response;
+        try {
+            SearchWorkload.QueryType queryType = "mixed".equalsIgnoreCase(type)
+                    ? SearchWorkload.QueryType.random()
+                    : SearchWorkload.QueryType.valueOf(type.toUpperCase());
+            response = Search.of(searchWorkload.run(queryType));
+        } catch (Exception e) {
+            logger.error("Error in es-search Elasticsearch query", e);
+            response = Search.failed("Failed to run search: " + e.getMessage());
+        }
+
+        logger.info("Gateway service returning es-search response");
+        return response;
+    }
+
+    @GetMapping("/grpc")
+    public CompletableFuture<Grpc> grpcCommunication() {
+        logger.info("Gateway service received grpc request - testing gRPC communication");
+        return grpcMetrics.track(() -> latencyInjector.delay("grpc", this::callProcessorGrpc));
+    }
+
+    private Grpc callProcessorGrpc() {
+        logger.debug("Sending gRPC request to processor service");
 
         try {
             ProcessRequest grpcRequest = ProcessRequest.newBuilder()
                     .setMessage("grpc-request")
                     .build();
 
-            ProcessResponse grpcResponse = processorServiceStub.processData(grpcRequest);
-            logger.info("Received gRPC response from processor service");
-
-            Map<String, Object> processorData = new HashMap<>();
-            processorData.put("service", grpcResponse.getService());
-            processorData.put("timestamp", grpcResponse.getTimestamp());
-            processorData.put("processedData", grpcResponse.getProcessedData());
-            processorData.put("data", grpcResponse.getData());
+            ProcessResponse grpcResponse = grpcMetrics.time(Phase.DOWNSTREAM, () -> processorServiceStub
+                    .withDeadlineAfter(grpcProperties.deadline().toNanos(), TimeUnit.NANOSECONDS)
+                    .processData(grpcRequest));
+            logger.debug("Received gRPC response from processor service");
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Hello World with gRPC!");
-            response.put("service", "gateway-service");
-            response.put("timestamp", LocalDateTime.now().toString());
-            response.put("grpcCommunication", "synchronous");
-            response.put("processorResponse", processorData);
+            Grpc response = grpcResponse(grpcResponse);
 
             logger.info("Gateway service returning grpc response");
             return response;
         } catch (Exception e) {
             logger.error("Error in grpc gRPC request", e);
-
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Hello World with gRPC - Error!");
-            errorResponse.put("service", "gateway-service");
-            errorResponse.put("timestamp", LocalDateTime.now().toString());
-            errorResponse.put("error", "Failed to call processor service via gRPC: " + e.getMessage());
-            return errorResponse;
+            return Grpc.failed("Failed to call processor service via gRPC: " + e.getMessage());
         }
     }
+
+    static ProcessorReply restChainResponse(ProcessorData processorData) {
+        return ProcessorReply.of(ProcessorReply.REST_CHAIN, processorData);
+    }
+
+    static Grpc grpcResponse(ProcessResponse grpcResponse) {
+        return Grpc.of(Grpc.SYNCHRONOUS, grpcResponse);
+    }
 }
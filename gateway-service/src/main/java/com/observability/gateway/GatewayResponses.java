@@ -0,0 +1,257 @@
+package com.observability.gateway;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.observability.processor.grpc.ProcessResponse;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Typed gateway response bodies. Each endpoint has a fixed-shape record instead of a HashMap, so a
+ * response is one small object that Jackson writes through a cached record serializer; absent
+ * optional fields are left out. Constant values (service name, messages, operation names) are
+ * {@link JsonConstant}s whose quoted UTF-8 bytes are encoded once and copied into every body.
+ */
+final class GatewayResponses {
+
+    static final JsonConstant SERVICE = JsonConstant.of("gateway-service");
+
+    private GatewayResponses() {
+    }
+
+    @JsonSerialize(using = JsonConstant.Serializer.class)
+    static final class JsonConstant {
+
+        private final SerializedString value;
+
+        private JsonConstant(String value) {
+            this.value = new SerializedString(value);
+            this.value.asQuotedUTF8();
+        }
+
+        static JsonConstant of(String value) {
+            return new JsonConstant(value);
+        }
+
+        @Override
+        public String toString() {
+            return value.getValue();
+        }
+
+        static final class Serializer extends JsonSerializer<JsonConstant> {
+            @Override
+            public void serialize(JsonConstant constant, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeString(constant.value);
+            }
+        }
+    }
+
+    /**
+     * The processor's reply, as returned by /api/process or read from a gRPC or protobuf Kafka reply.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ProcessorData(String service, String timestamp, String processedData, String data) {
+
+        static ProcessorData of(ProcessResponse response) {
+            return new ProcessorData(response.getService(), response.getTimestamp(),
+                    response.getProcessedData(), response.getData());
+        }
+    }
+
+    /**
+     * /rest-chain and /kafka-rr. The Kafka reply is a {@link ProcessorData} or the processor's raw JSON string.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record ProcessorReply(JsonConstant message, JsonConstant service, String timestamp,
+                          Object processorResponse, String error) {
+
+        static final JsonConstant REST_CHAIN = JsonConstant.of("Hello World!");
+        static final JsonConstant REST_CHAIN_ERROR = JsonConstant.of("Hello World - Error!");
+        static final JsonConstant KAFKA = JsonConstant.of("Hello World via Kafka!");
+        static final JsonConstant KAFKA_ERROR = JsonConstant.of("Hello World via Kafka - Error!");
+
+        static ProcessorReply of(JsonConstant message, Object processorResponse) {
+            return new ProcessorReply(message, SERVICE, Timestamps.now(), processorResponse, null);
+        }
+
+        static ProcessorReply failed(JsonConstant message, String error) {
+            return new ProcessorReply(message, SERVICE, Timestamps.now(), null, error);
+        }
+    }
+
+    record FireAndForget(JsonConstant message, JsonConstant service, String timestamp,
+                         String correlationId, JsonConstant status) {
+
+        private static final JsonConstant MESSAGE = JsonConstant.of("Hello World Fire-and-Forget!");
+        private static final JsonConstant STATUS = JsonConstant.of("Request sent, no response expected");
+
+        static FireAndForget of(String correlationId) {
+            return new FireAndForget(MESSAGE, SERVICE, Timestamps.now(), correlationId, STATUS);
+        }
+    }
+
+    /**
+     * /db-ops. The record is a {@link DatabaseRecord}, or "Not found".
+     */
+    record Database(JsonConstant message, JsonConstant service, String timestamp,
+                    JsonConstant databaseOperation, String key, Object databaseRecord) {
+
+        private static final JsonConstant MESSAGE = JsonConstant.of("Hello World with Database!");
+        private static final JsonConstant OPERATION = JsonConstant.of("write and read");
+
+        static Database of(String key, Object databaseRecord) {
+            return new Database(MESSAGE, SERVICE, Timestamps.now(), OPERATION, key, databaseRecord);
+        }
+    }
+
+    record DatabaseRecord(String key, String value, LocalDateTime updatedAt) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record BulkDatabase(JsonConstant message, JsonConstant service, String timestamp, JsonConstant databaseOperation,
+                        int batchSize, int keyspaceSize, Integer rowsWritten, Integer rowsRead, String error) {
+
+        private static final JsonConstant MESSAGE = JsonConstant.of("Hello World with Database (bulk)!");
+        private static final JsonConstant ERROR_MESSAGE = JsonConstant.of("Hello World with Database (bulk) - Error!");
+        private static final JsonConstant OPERATION = JsonConstant.of("batched upsert and multi-get");
+
+        static BulkDatabase of(int batchSize, int keyspaceSize, int rowsWritten, int rowsRead) {
+            return new BulkDatabase(MESSAGE, SERVICE, Timestamps.now(), OPERATION, batchSize, keyspaceSize,
+                    rowsWritten, rowsRead, null);
+        }
+
+        static BulkDatabase failed(int batchSize, int keyspaceSize, String error) {
+            return new BulkDatabase(ERROR_MESSAGE, SERVICE, Timestamps.now(), OPERATION, batchSize, keyspaceSize,
+                    null, null, error);
+        }
+    }
+
+    /**
+     * /es-ops. The document is an {@link ElasticsearchDocument}, or "Not found".
+     */
+    record Elasticsearch(JsonConstant message, JsonConstant service, String timestamp,
+                         JsonConstant elasticsearchOperation, String documentId, Object elasticsearchDocument) {
+
+        private static final JsonConstant MESSAGE = JsonConstant.of("Hello World with Elasticsearch!");
+        private static final JsonConstant OPERATION = JsonConstant.of("write and read");
+
+        static Elasticsearch of(String documentId, Object elasticsearchDocument) {
+            return new Elasticsearch(MESSAGE, SERVICE, Timestamps.now(), OPERATION, documentId, elasticsearchDocument);
+        }
+    }
+
+    record ElasticsearchDocument(String id, String content, LocalDateTime timestamp) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record BulkElasticsearch(JsonConstant message, JsonConstant service, String timestamp,
+                             JsonConstant elasticsearchOperation, int documentsQueued, String error) {
+
+        private static final JsonConstant MESSAGE = JsonConstant.of("Hello World with Elasticsearch (bulk)!");
+        private static final JsonConstant OPERATION = JsonConstant.of("bulk index");
+
+        static BulkElasticsearch of(int documentsQueued, String error) {
+            return new BulkElasticsearch(MESSAGE, SERVICE, Timestamps.now(), OPERATION, documentsQueued, error);
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Search(JsonConstant message, JsonConstant service, String timestamp, Object searchResult, String error) {
+
+        private static final JsonConstant MESSAGE = JsonConstant.of("Hello World with Elasticsearch search!");
+        private static final JsonConstant ERROR_MESSAGE = JsonConstant.of("Hello World with Elasticsearch search - Error!");
+
+        static Search of(Object searchResult) {
+            return new Search(MESSAGE, SERVICE, Timestamps.now(), searchResult, null);
+        }
+
+        static Search failed(String error) {
+            return new Search(ERROR_MESSAGE, SERVICE, Timestamps.now(), null, error);
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Grpc(JsonConstant message, JsonConstant service, String timestamp, JsonConstant grpcCommunication,
+                ProcessorData processorResponse, String error) {
+
+        private static final JsonConstant MESSAGE = JsonConstant.of("Hello World with gRPC!");
+        private static final JsonConstant ERROR_MESSAGE = JsonConstant.of("Hello World with gRPC - Error!");
+        static final JsonConstant SYNCHRONOUS = JsonConstant.of("synchronous");
+        static final JsonConstant ASYNCHRONOUS = JsonConstant.of("asynchronous");
+
+        static Grpc of(JsonConstant grpcCommunication, ProcessResponse response) {
+            return new Grpc(MESSAGE, SERVICE, Timestamps.now(), grpcCommunication, ProcessorData.of(response), null);
+        }
+
+        static Grpc failed(String error) {
+            return new Grpc(ERROR_MESSAGE, SERVICE, Timestamps.now(), null, null, error);
+        }
+    }
+
+    /**
+     * /grpc-stream and /grpc-bidi. Counts and duration are reported on error too, so a partial stream stays visible.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record GrpcStream(JsonConstant message, JsonConstant service, String timestamp, JsonConstant grpcCommunication,
+                      int messagesRequested, int messagesReceived, Long durationMs,
+                      StreamedProcessorData lastProcessorResponse, String error) {
+
+        private static final JsonConstant MESSAGE = JsonConstant.of("Hello World with gRPC streaming!");
+        private static final JsonConstant ERROR_MESSAGE = JsonConstant.of("Hello World with gRPC streaming - Error!");
+        static final JsonConstant SERVER_STREAMING = JsonConstant.of("server-streaming");
+        static final JsonConstant BIDIRECTIONAL_STREAMING = JsonConstant.of("bidirectional-streaming");
+
+        static GrpcStream of(JsonConstant grpcCommunication, int messagesRequested, int messagesReceived,
+                             long durationMs, ProcessResponse last) {
+            return new GrpcStream(MESSAGE, SERVICE, Timestamps.now(), grpcCommunication, messagesRequested,
+                    messagesReceived, durationMs, last == null ? null : StreamedProcessorData.of(last), null);
+        }
+
+        static GrpcStream failed(JsonConstant grpcCommunication, int messagesRequested, int messagesReceived,
+                                 String error) {
+            return new GrpcStream(ERROR_MESSAGE, SERVICE, Timestamps.now(), grpcCommunication, messagesRequested,
+                    messagesReceived, null, null, error);
+        }
+    }
+
+    record StreamedProcessorData(String service, String timestamp, String processedData, int sequence) {
+
+        static StreamedProcessorData of(ProcessResponse response) {
+            return new StreamedProcessorData(response.getService(), response.getTimestamp(),
+                    response.getProcessedData(), response.getSequence());
+        }
+    }
+
+    record Scenarios(JsonConstant service, String timestamp, Map<String, Long> scenarios) {
+
+        static Scenarios of(Map<String, Long> scenarios) {
+            return new Scenarios(SERVICE, Timestamps.now(), scenarios);
+        }
+    }
+
+    /**
+     * /scenario/{name}. Steps and errors come from the {@link ScenarioResult}; an unknown scenario only carries the error.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record ScenarioRun(String message, JsonConstant service, String timestamp, String scenario,
+                       Integer steps, Integer errors, long durationMs, String error) {
+
+        private static final String ERROR_MESSAGE = "Hello World from scenario - Error!";
+
+        static ScenarioRun of(String scenario, ScenarioResult result, long durationMs) {
+            return new ScenarioRun("Hello World from scenario " + scenario + "!", SERVICE, Timestamps.now(), scenario,
+                    result.steps(), result.errors(), durationMs, null);
+        }
+
+        static ScenarioRun failed(String scenario, long durationMs, String error) {
+            return new ScenarioRun(ERROR_MESSAGE, SERVICE, Timestamps.now(), scenario, null, null, durationMs, error);
+        }
+    }
+}
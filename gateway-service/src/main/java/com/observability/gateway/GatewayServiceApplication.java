@@ -1,19 +1,124 @@
 package com.observability.gateway;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.opentelemetry.context.Context;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @SpringBootApplication
+@EnableCaching
+@EnableConfigurationProperties({ProcessorHttpClientProperties.class, KafkaRequestReplyProperties.class,
+        ElasticsearchBulkProperties.class, SearchWorkloadProperties.class, ScenarioProperties.class,
+        LatencyProperties.class, FirehoseProperties.class, ProcessorGrpcProperties.class})
 public class GatewayServiceApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(GatewayServiceApplication.class, args);
     }
 
+    /**
+     * Keeps the Kafka reply listener eager under spring.main.lazy-initialization (fast-startup profile),
+     * so its container has partitions assigned before the first request-reply goes out.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerKafkaListeners() {
+        return LazyInitializationExcludeFilter.forBeanTypes(KafkaReplyCorrelator.class);
+    }
+
+    @Bean
+    public RestTemplate restTemplate(ProcessorHttpClientProperties properties, MeterRegistry meterRegistry) {
+        if (properties.http2()) {
+            // HTTP/2 multiplexes requests over a single connection, so there is no pool to size or observe
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(properties.connectTimeout())
+                    .build();
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+            requestFactory.setReadTimeout(properties.readTimeout());
+            return new RestTemplate(requestFactory);
+        }
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.maxConnections())
+                .setMaxConnPerRoute(properties.maxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.readTimeout()))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "processor-service")
+                .bindTo(meterRegistry);
+
+        TimeValue keepAlive = TimeValue.of(properties.keepAlive());
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictIdleConnections(keepAlive)
+                .build();
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public WebClient webClient(WebClient.Builder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Replaces Boot's default Jackson converter so response serialization shows up as a phase in
+     * {@link EndpointMetrics}.
+     */
+    @Bean
+    public TimedJsonHttpMessageConverter timedJsonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                       EndpointMetrics endpointMetrics) {
+        return new TimedJsonHttpMessageConverter(objectMapper, endpointMetrics);
+    }
+
+    /**
+     * Runs scenario fan-out branches, which block on injected latency and downstream calls, one
+     * virtual thread each. Tasks carry the submitting thread's trace context.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService scenarioExecutor() {
+        return Context.taskWrapping(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("scenario-", 0).factory()));
+    }
+
+    /**
+     * Where blocking work resumes after an injected delay: one virtual thread per continuation when
+     * spring.threads.virtual.enabled is set, otherwise a platform pool sized like Tomcat's.
+     */
+    @Bean(name = "latencyContinuationExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualLatencyContinuationExecutor() {
+        return Context.taskWrapping(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("latency-", 0).factory()));
+    }
+
+    @Bean(name = "latencyContinuationExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService platformLatencyContinuationExecutor(LatencyProperties properties) {
+        return Context.taskWrapping(Executors.newFixedThreadPool(properties.continuationThreads(),
+                Thread.ofPlatform().name("latency-", 0).daemon().factory()));
     }
 }
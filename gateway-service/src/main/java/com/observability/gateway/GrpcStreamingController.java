@@ -0,0 +1,134 @@
+package com.observability.gateway;
+
+import com.observability.gateway.GatewayResponses.GrpcStream;
+import com.observability.processor.grpc.ProcessRequest;
+import com.observability.processor.grpc.ProcessResponse;
+import com.observability.processor.grpc.ProcessorServiceGrpc;
+import com.observability.processor.grpc.StreamProcessRequest;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the streaming ProcessorService RPCs: many messages per HTTP request over a single HTTP/2
+ * stream, instead of one unary call each.
+ */
+@RestController
+public class GrpcStreamingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcStreamingController.class);
+    private static final int MAX_STREAM_MESSAGES = 100_000;
+    private static final long STREAM_DEADLINE_SECONDS = 60;
+
+    private final ProcessorServiceGrpc.ProcessorServiceStub processorServiceAsyncStub;
+
+    public GrpcStreamingController(ProcessorChannelPool processorChannelPool) {
+        this.processorServiceAsyncStub = ProcessorServiceGrpc.newStub(processorChannelPool);
+    }
+
+    @GetMapping("/grpc-stream")
+    public CompletableFuture<GrpcStream> grpcServerStreaming(@RequestParam(defaultValue = "100") int count) {
+        logger.info("Gateway service received grpc-stream request for {} messages", count);
+
+        int requested = Math.max(1, Math.min(count, MAX_STREAM_MESSAGES));
+        long start = System.nanoTime();
+        CompletableFuture<GrpcStream> result = new CompletableFuture<>();
+
+        StreamProcessRequest request = StreamProcessRequest.newBuilder()
+                .setMessage("grpc-stream-request")
+                .setCount(requested)
+                .build();
+
+        processorServiceAsyncStub.withDeadlineAfter(STREAM_DEADLINE_SECONDS, TimeUnit.SECONDS)
+                .streamProcessData(request, new StreamObserver<>() {
+                    private int received;
+                    private ProcessResponse last;
+
+                    @Override
+                    public void onNext(ProcessResponse response) {
+                        received++;
+                        last = response;
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        logger.error("Error in grpc-stream gRPC server streaming after {} messages", received, t);
+                        result.complete(GrpcStream.failed(GrpcStream.SERVER_STREAMING, requested, received,
+                                "Failed to stream from processor service via gRPC: " + t.getMessage()));
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        logger.info("Gateway service returning grpc-stream response after {} messages", received);
+                        result.complete(GrpcStream.of(GrpcStream.SERVER_STREAMING, requested, received,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), last));
+                    }
+                });
+
+        return result;
+    }
+
+    @GetMapping("/grpc-bidi")
+    public CompletableFuture<GrpcStream> grpcBidirectionalStreaming(@RequestParam(defaultValue = "100") int count) {
+        logger.info("Gateway service received grpc-bidi request for {} messages", count);
+
+        int requested = Math.max(1, Math.min(count, MAX_STREAM_MESSAGES));
+        long start = System.nanoTime();
+        CompletableFuture<GrpcStream> result = new CompletableFuture<>();
+        ProcessRequest request = ProcessRequest.newBuilder()
+                .setMessage("grpc-bidi-request")
+                .build();
+
+        processorServiceAsyncStub.withDeadlineAfter(STREAM_DEADLINE_SECONDS, TimeUnit.SECONDS)
+                .processDataStream(new ClientResponseObserver<ProcessRequest, ProcessResponse>() {
+                    private int sent;
+                    private int received;
+                    private ProcessResponse last;
+
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<ProcessRequest> requestStream) {
+                        // Only write while the processor can take more, then half-close once all requests are out
+                        requestStream.setOnReadyHandler(() -> {
+                            while (requestStream.isReady() && sent < requested) {
+                                requestStream.onNext(request);
+                                sent++;
+                            }
+                            if (sent == requested) {
+                                sent++;
+                                requestStream.onCompleted();
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onNext(ProcessResponse response) {
+                        received++;
+                        last = response;
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        logger.error("Error in grpc-bidi gRPC bidirectional streaming after {} messages", received, t);
+                        result.complete(GrpcStream.failed(GrpcStream.BIDIRECTIONAL_STREAMING, requested, received,
+                                "Failed to stream from processor service via gRPC: " + t.getMessage()));
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        logger.info("Gateway service returning grpc-bidi response after {} messages", received);
+                        result.complete(GrpcStream.of(GrpcStream.BIDIRECTIONAL_STREAMING, requested, received,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), last));
+                    }
+                });
+
+        return result;
+    }
+}
@@ -0,0 +1,205 @@
+package com.observability.gateway;
+
+import com.observability.processor.grpc.ProcessResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Correlates Kafka requests sent by the gateway with the replies the processor routes back to this
+ * instance's reply partition. Pending exchanges are bounded, and a timer wheel expires the ones
+ * whose reply never arrives so abandoned futures do not accumulate.
+ */
+@Component
+public class KafkaReplyCorrelator implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaReplyCorrelator.class);
+
+    private final KafkaRequestReplyProperties properties;
+    private final ConcurrentHashMap<String, PendingReply> pendingRequests = new ConcurrentHashMap<>();
+    private final Semaphore capacity;
+    private final HashedWheelTimer timeoutSweeper;
+    private final String instancePrefix = Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36), 36) + ".";
+    private final AtomicLong sequence = new AtomicLong();
+    private final byte[] replyTopicHeader;
+    private final byte[] replyPartitionHeader;
+
+    private final Counter matchedReplies;
+    private final Counter timedOutReplies;
+    private final Counter orphanedReplies;
+    private final Counter rejectedRequests;
+
+    public KafkaReplyCorrelator(KafkaRequestReplyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.capacity = new Semaphore(properties.maxPending());
+        this.timeoutSweeper = new HashedWheelTimer(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-rr-timeout-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        }, properties.sweepTick().toMillis(), TimeUnit.MILLISECONDS);
+        this.replyTopicHeader = properties.replyTopic().getBytes(StandardCharsets.UTF_8);
+        this.replyPartitionHeader = ByteBuffer.allocate(Integer.BYTES).putInt(properties.replyPartition()).array();
+
+        Gauge.builder("gateway.kafka.rr.pending", pendingRequests, ConcurrentHashMap::size)
+                .description("Kafka request-reply exchanges waiting for a processor reply")
+                .register(meterRegistry);
+        this.matchedReplies = replyCounter(meterRegistry, "matched");
+        this.timedOutReplies = replyCounter(meterRegistry, "timed_out");
+        this.orphanedReplies = replyCounter(meterRegistry, "orphaned");
+        this.rejectedRequests = replyCounter(meterRegistry, "rejected");
+    }
+
+    /**
+     * Reserves a slot for a new exchange. Fails fast with {@link RejectedExecutionException} when
+     * max-pending exchanges are already in flight, pushing back on callers instead of queueing.
+     */
+    public PendingReply register() {
+        if (!capacity.tryAcquire()) {
+            rejectedRequests.increment();
+            throw new RejectedExecutionException(
+                    "Kafka request-reply capacity of " + properties.maxPending() + " pending requests exhausted");
+        }
+
+        String correlationId = instancePrefix + Long.toString(sequence.incrementAndGet(), 36);
+        PendingReply pendingReply = new PendingReply(correlationId);
+        pendingRequests.put(correlationId, pendingReply);
+        pendingReply.timeout = timeoutSweeper.newTimeout(
+                timeout -> expire(correlationId), properties.replyTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        return pendingReply;
+    }
+
+    /**
+     * Builds the request record for an exchange, carrying the headers the processor uses to route
+     * its reply back to this instance.
+     */
+    public ProducerRecord<String, String> requestRecord(PendingReply pendingReply, String payload) {
+        return requestRecord(pendingReply, properties.requestTopic(), payload);
+    }
+
+    public ProducerRecord<String, String> requestRecord(PendingReply pendingReply, String topic, String payload) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, pendingReply.correlationId(), payload);
+        record.headers().add(KafkaHeaders.REPLY_TOPIC, replyTopicHeader);
+        record.headers().add(KafkaHeaders.REPLY_PARTITION, replyPartitionHeader);
+        return record;
+    }
+
+    public void cancel(String correlationId) {
+        PendingReply pendingReply = pendingRequests.remove(correlationId);
+        if (pendingReply != null) {
+            release(pendingReply);
+        }
+    }
+
+    /**
+     * Fails an exchange whose request never reached the broker, so the caller waiting on its future
+     * returns right away instead of at the reply timeout.
+     */
+    public void fail(String correlationId, Throwable cause) {
+        PendingReply pendingReply = pendingRequests.remove(correlationId);
+        if (pendingReply != null) {
+            release(pendingReply);
+            pendingReply.future().completeExceptionally(cause);
+        }
+    }
+
+    /** How long callers should wait for a reply; matches when the sweeper expires the exchange. */
+    public Duration replyTimeout() {
+        return properties.replyTimeout();
+    }
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(topic = "${gateway.kafka-rr.reply-topic}",
+                    partitions = "${gateway.kafka-rr.reply-partition}"),
+            properties = "auto.offset.reset=latest")
+    public void handleProcessorReply(@Payload Object message,
+                                   @Header(KafkaHeaders.RECEIVED_KEY) String correlationId) {
+        logger.info("Gateway received Kafka reply with correlationId: {}", correlationId);
+
+        PendingReply pendingReply = pendingRequests.remove(correlationId);
+        if (pendingReply == null) {
+            orphanedReplies.increment();
+            logger.warn("Discarding Kafka reply with no pending request, correlationId: {}", correlationId);
+            return;
+        }
+        release(pendingReply);
+        matchedReplies.increment();
+        pendingReply.future().complete(message instanceof ProcessResponse response ? GatewayResponses.ProcessorData.of(response) : message);
+    }
+
+    @Override
+    public void destroy() {
+        timeoutSweeper.stop();
+    }
+
+    private void expire(String correlationId) {
+        PendingReply pendingReply = pendingRequests.remove(correlationId);
+        if (pendingReply != null) {
+            capacity.release();
+            timedOutReplies.increment();
+            pendingReply.future().completeExceptionally(new TimeoutException(
+                    "No Kafka reply within " + properties.replyTimeout().toMillis() + "ms for correlationId " + correlationId));
+        }
+    }
+
+    private void release(PendingReply pendingReply) {
+        Timeout timeout = pendingReply.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        capacity.release();
+    }
+
+    private static Counter replyCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("gateway.kafka.rr.replies")
+                .description("Kafka request-reply exchanges by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * An exchange waiting for its reply; the future completes with the reply payload (the JSON string, or
+     * a {@link GatewayResponses.ProcessorData} for a protobuf reply) or fails on timeout.
+     */
+    public static final class PendingReply {
+
+        private final String correlationId;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile Timeout timeout;
+
+        private PendingReply(String correlationId) {
+            this.correlationId = correlationId;
+        }
+
+        public String correlationId() {
+            return correlationId;
+        }
+
+        public CompletableFuture<Object> future() {
+            return future;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.observability.gateway;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the /kafka-rr request-reply exchange. Each gateway replica must own a distinct
+ * reply partition (or reply topic) so the processor routes its replies back to the node that is waiting.
+ * The reply partition has no default: a silent shared default would put every replica on the same
+ * partition, where each drops the others' replies, so startup fails until it is set explicitly.
+ */
+@ConfigurationProperties(prefix = "gateway.kafka-rr")
+public record KafkaRequestReplyProperties(
+        @DefaultValue("gateway-processor-request") String requestTopic,
+        @DefaultValue("gateway-processor-reply") String replyTopic,
+        Integer replyPartition,
+        @DefaultValue("10s") Duration replyTimeout,
+        @DefaultValue("10000") int maxPending,
+        @DefaultValue("10ms") Duration sweepTick) {
+
+    public KafkaRequestReplyProperties {
+        if (replyPartition == null || replyPartition < 0) {
+            throw new IllegalArgumentException("gateway.kafka-rr.reply-partition (KAFKA_RR_REPLY_PARTITION) must be set"
+                    + " to a partition of " + replyTopic + " that no other gateway replica uses");
+        }
+    }
+}
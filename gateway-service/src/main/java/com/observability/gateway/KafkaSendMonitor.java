@@ -0,0 +1,72 @@
+package com.observability.gateway;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Attaches a completion callback to every Kafka send so acknowledged and failed sends are timed and
+ * counted per topic, instead of the send future being dropped on the floor.
+ */
+@Component
+public class KafkaSendMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaSendMonitor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SendTimers> timers = new ConcurrentHashMap<>();
+
+    public KafkaSendMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <K, V> CompletableFuture<SendResult<K, V>> track(String topic, Supplier<CompletableFuture<SendResult<K, V>>> send) {
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<K, V>> future;
+        try {
+            future = send.get();
+        } catch (RuntimeException e) {
+            record(topic, false, start);
+            logger.error("Kafka send to topic {} failed before it was queued", topic, e);
+            throw e;
+        }
+        return future.whenComplete((result, e) -> {
+            if (e != null) {
+                record(topic, false, start);
+                logger.error("Kafka send to topic {} was not acknowledged", topic, e);
+            } else {
+                record(topic, true, start);
+            }
+        });
+    }
+
+    private void record(String topic, boolean success, long start) {
+        SendTimers sendTimers = timers.computeIfAbsent(topic, this::sendTimers);
+        (success ? sendTimers.success() : sendTimers.failure()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private SendTimers sendTimers(String topic) {
+        return new SendTimers(timer(topic, "success"), timer(topic, "failure"));
+    }
+
+    private Timer timer(String topic, String result) {
+        return Timer.builder("kafka.producer.send")
+                .description("Time from send until the broker acknowledged or the send failed")
+                .tag("topic", topic)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /** Both outcome timers of a topic, registered on its first send and reused afterwards. */
+    private record SendTimers(Timer success, Timer failure) {
+    }
+}
@@ -1,9 +1,29 @@
 package com.observability.gateway;
 
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
+/**
+ * Single-key reads are served read-through from the {@value #CACHE_NAME} cache and single-key
+ * saves write through to it. The cache is configured by spring.cache; spring.cache.type=none
+ * bypasses it. Batched upserts and multi-gets always go to the database.
+ */
 @Repository
-public interface KeyValueRepository extends JpaRepository<KeyValueEntity, String> {
-}
+@CacheConfig(cacheNames = KeyValueRepository.CACHE_NAME)
+public interface KeyValueRepository extends JpaRepository<KeyValueEntity, String>, KeyValueRepositoryCustom {
+
+    String CACHE_NAME = "key-value";
 
+    @Override
+    @Cacheable(key = "#p0")
+    Optional<KeyValueEntity> findById(String key);
+
+    @Override
+    @CachePut(key = "#p0.key")
+    <S extends KeyValueEntity> S save(S entity);
+}
@@ -0,0 +1,12 @@
+package com.observability.gateway;
+
+import java.util.List;
+
+public interface KeyValueRepositoryCustom {
+
+    /**
+     * Inserts or updates all entities with one batched {@code INSERT ... ON CONFLICT} statement,
+     * bypassing the select-before-merge JPA does for entities with assigned ids.
+     */
+    int upsertAll(List<KeyValueEntity> entities);
+}
@@ -0,0 +1,41 @@
+package com.observability.gateway;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class KeyValueRepositoryImpl implements KeyValueRepositoryCustom {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO key_value_store (key, value, updated_at) VALUES (?, ?, ?) "
+                    + "ON CONFLICT (key) DO UPDATE SET value = EXCLUDED.value, updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public KeyValueRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public int upsertAll(List<KeyValueEntity> entities) {
+        // Sorted keys make concurrent batches lock rows in the same order, avoiding deadlocks
+        List<KeyValueEntity> ordered = entities.stream()
+                .sorted(Comparator.comparing(KeyValueEntity::getKey))
+                .toList();
+        int[][] counts = jdbcTemplate.batchUpdate(UPSERT_SQL, ordered, ordered.size(), (ps, entity) -> {
+            ps.setString(1, entity.getKey());
+            ps.setString(2, entity.getValue());
+            ps.setTimestamp(3, Timestamp.valueOf(entity.getUpdatedAt()));
+        });
+        // With reWriteBatchedInserts the driver reports SUCCESS_NO_INFO per statement; each upserts one row
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream)
+                .map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0))
+                .sum();
+    }
+}
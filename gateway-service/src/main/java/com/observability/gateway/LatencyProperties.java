@@ -0,0 +1,26 @@
+package com.observability.gateway;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Injected latency per endpoint, keyed by endpoint path without the leading slash (the /async
+ * variants share their synchronous endpoint's entry). Endpoints without an entry get no latency.
+ * Continuation threads size the platform pool blocking work resumes on after a delay when
+ * virtual threads are off.
+ */
+@ConfigurationProperties(prefix = "gateway.latency")
+public record LatencyProperties(
+        Map<String, LatencyProfile> endpoints,
+        @DefaultValue("200") int continuationThreads) {
+
+    public LatencyProperties {
+        endpoints = endpoints != null ? Map.copyOf(endpoints) : Map.of();
+    }
+
+    public LatencyProfile profile(String endpoint) {
+        return endpoints.getOrDefault(endpoint, LatencyProfile.NONE);
+    }
+}
@@ -0,0 +1,45 @@
+package com.observability.gateway;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts the events it sheds. Below the discarding threshold TRACE, DEBUG
+ * and INFO events are discarded; with neverBlock an event arriving at a full queue is dropped instead
+ * of blocking the logging thread. Both are exposed through {@link AsyncLoggingMetrics}.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // The queue is private to the base class, so overflow is observed just before the offer. Events
+        // the threshold discards never reach the queue and are already counted by isDiscardable
+        if (isNeverBlock() && isStarted() && getRemainingCapacity() == 0
+                && !(getDiscardingThreshold() > 0 && super.isDiscardable(event))) {
+            overflowed.increment();
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            discarded.increment();
+        }
+        return discardable;
+    }
+
+    long discarded() {
+        return discarded.sum();
+    }
+
+    long overflowed() {
+        return overflowed.sum();
+    }
+}
@@ -0,0 +1,38 @@
+package com.observability.gateway;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.observability.processor.grpc.ProcessResponse;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads processor replies. Records marked with the protobuf payload-format header are parsed into a
+ * {@link ProcessResponse}; anything else is returned as the JSON string the processor used to send.
+ */
+public class ProcessResponseDeserializer implements Deserializer<Object> {
+
+    public static final String PAYLOAD_FORMAT_HEADER = "payload-format";
+    private static final String PROTOBUF_FORMAT = "protobuf";
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return data == null ? null : new String(data, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        Header format = headers.lastHeader(PAYLOAD_FORMAT_HEADER);
+        if (data == null || format == null || !PROTOBUF_FORMAT.equals(new String(format.value(), StandardCharsets.UTF_8))) {
+            return deserialize(topic, data);
+        }
+        try {
+            return ProcessResponse.parseFrom(data);
+        } catch (InvalidProtocolBufferException e) {
+            throw new SerializationException("Invalid ProcessResponse payload on topic " + topic, e);
+        }
+    }
+}
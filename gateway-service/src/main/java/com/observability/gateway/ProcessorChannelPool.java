@@ -0,0 +1,69 @@
+package com.observability.gateway;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptors;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import net.devh.boot.grpc.client.interceptor.GlobalClientInterceptorRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Round-robins calls over a fixed set of channels to the processor, one HTTP/2 connection each.
+ * A single channel multiplexes every call onto one connection and stalls once the server's
+ * max-concurrent-streams is reached; a streaming call stays on the channel it started on.
+ * The global client interceptors (metrics) are applied as they are for @GrpcClient channels.
+ */
+@Component
+public class ProcessorChannelPool extends Channel implements DisposableBean {
+
+    private final ManagedChannel[] channels;
+    private final Channel[] interceptedChannels;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ProcessorChannelPool(ProcessorGrpcProperties properties, GlobalClientInterceptorRegistry interceptorRegistry) {
+        int size = Math.max(1, properties.channels());
+        this.channels = new ManagedChannel[size];
+        this.interceptedChannels = new Channel[size];
+        for (int i = 0; i < size; i++) {
+            channels[i] = Grpc.newChannelBuilder(properties.target(), InsecureChannelCredentials.create())
+                    .keepAliveTime(properties.keepAliveTime().toNanos(), TimeUnit.NANOSECONDS)
+                    .keepAliveTimeout(properties.keepAliveTimeout().toNanos(), TimeUnit.NANOSECONDS)
+                    .keepAliveWithoutCalls(properties.keepAliveWithoutCalls())
+                    .build();
+            interceptedChannels[i] = ClientInterceptors.intercept(channels[i],
+                    interceptorRegistry.getClientInterceptors());
+        }
+    }
+
+    @Override
+    public <RequestT, ResponseT> ClientCall<RequestT, ResponseT> newCall(
+            MethodDescriptor<RequestT, ResponseT> methodDescriptor, CallOptions callOptions) {
+        return interceptedChannels[Math.floorMod(next.getAndIncrement(), interceptedChannels.length)]
+                .newCall(methodDescriptor, callOptions);
+    }
+
+    @Override
+    public String authority() {
+        return channels[0].authority();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ManagedChannel channel : channels) {
+            channel.shutdown();
+        }
+        for (ManagedChannel channel : channels) {
+            if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+                channel.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.observability.gateway;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Channel pool the gateway calls the processor's gRPC service through. Each of the channels holds its
+ * own HTTP/2 connection, so concurrent calls spread over that many connections' stream limits instead
+ * of queueing behind one. deadline bounds every unary call and travels with it to the processor.
+ */
+@ConfigurationProperties(prefix = "gateway.grpc")
+public record ProcessorGrpcProperties(
+        @DefaultValue("processor-service:9090") String target,
+        @DefaultValue("4") int channels,
+        @DefaultValue("30s") Duration keepAliveTime,
+        @DefaultValue("10s") Duration keepAliveTimeout,
+        @DefaultValue("true") boolean keepAliveWithoutCalls,
+        @DefaultValue("5s") Duration deadline) {
+}
@@ -0,0 +1,19 @@
+package com.observability.gateway;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Connection settings for the REST client used by /rest-chain to call the processor service.
+ */
+@ConfigurationProperties(prefix = "processor.http-client")
+public record ProcessorHttpClientProperties(
+        @DefaultValue("200") int maxConnections,
+        @DefaultValue("200") int maxConnectionsPerRoute,
+        @DefaultValue("30s") Duration keepAlive,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("5s") Duration readTimeout,
+        @DefaultValue("false") boolean http2) {
+}
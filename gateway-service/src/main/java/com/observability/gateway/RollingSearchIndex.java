@@ -0,0 +1,83 @@
+package com.observability.gateway;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.PutIndexTemplateRequest;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the time-based index a {@link SearchDocument} belongs to and installs the index
+ * template those indices are created from. The bulk indexer puts the template before each bulk
+ * request until it succeeds, so the gateway starts even when Elasticsearch is not up yet; after a
+ * failed attempt further calls are skipped until the retry interval has passed.
+ */
+@Component
+public class RollingSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollingSearchIndex.class);
+    private static final long TEMPLATE_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final SearchWorkloadProperties properties;
+    private final DateTimeFormatter indexDateFormatter;
+    private final IndexCoordinates searchCoordinates;
+    private volatile boolean templateInstalled;
+    private long nextTemplateAttempt = System.nanoTime();
+
+    public RollingSearchIndex(ElasticsearchOperations elasticsearchOperations, SearchWorkloadProperties properties) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.properties = properties;
+        this.indexDateFormatter = DateTimeFormatter.ofPattern(properties.indexDatePattern());
+        this.searchCoordinates = IndexCoordinates.of(properties.indexPrefix() + "-*");
+    }
+
+    public String indexFor(LocalDateTime timestamp) {
+        return properties.indexPrefix() + "-" + indexDateFormatter.format(timestamp);
+    }
+
+    public IndexCoordinates searchCoordinates() {
+        return searchCoordinates;
+    }
+
+    /**
+     * Puts the index template unless it is already installed or the last attempt failed less than the
+     * retry interval ago. Returns whether the template is installed.
+     */
+    public boolean ensureTemplate() {
+        if (templateInstalled) {
+            return true;
+        }
+        synchronized (this) {
+            if (templateInstalled || System.nanoTime() - nextTemplateAttempt < 0) {
+                return templateInstalled;
+            }
+            try {
+                IndexOperations indexOperations = elasticsearchOperations.indexOps(searchCoordinates);
+                Settings settings = new Settings();
+                settings.put("index.number_of_shards", properties.shards());
+                settings.put("index.number_of_replicas", properties.replicas());
+                indexOperations.putIndexTemplate(PutIndexTemplateRequest.builder()
+                        .withName(properties.indexPrefix())
+                        .withIndexPatterns(properties.indexPrefix() + "-*")
+                        .withSettings(settings)
+                        .withMapping(indexOperations.createMapping(SearchDocument.class))
+                        .build());
+                templateInstalled = true;
+                logger.info("Installed index template {} for {}-*", properties.indexPrefix(), properties.indexPrefix());
+            } catch (RuntimeException e) {
+                nextTemplateAttempt = System.nanoTime() + TEMPLATE_RETRY_NANOS;
+                logger.warn("Failed to install index template {}, retrying in {}s: {}", properties.indexPrefix(),
+                        TimeUnit.NANOSECONDS.toSeconds(TEMPLATE_RETRY_NANOS), e.toString());
+            }
+            return templateInstalled;
+        }
+    }
+}
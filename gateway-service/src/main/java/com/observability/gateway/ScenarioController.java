@@ -0,0 +1,46 @@
+package com.observability.gateway;
+
+import com.observability.gateway.GatewayResponses.ScenarioRun;
+import com.observability.gateway.GatewayResponses.Scenarios;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+public class ScenarioController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioController.class);
+
+    private final ScenarioEngine scenarioEngine;
+
+    public ScenarioController(ScenarioEngine scenarioEngine) {
+        this.scenarioEngine = scenarioEngine;
+    }
+
+    @GetMapping("/scenarios")
+    public Scenarios listScenarios() {
+        return Scenarios.of(scenarioEngine.scenarios());
+    }
+
+    @GetMapping("/scenario/{name}")
+    public ScenarioRun runScenario(@PathVariable String name) {
+        logger.info("Gateway service received scenario request for {}", name);
+
+        long start = System.nanoTime();
+        ScenarioRun response;
+        try {
+            ScenarioResult result = scenarioEngine.run(name);
+            response = ScenarioRun.of(name, result, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IllegalArgumentException e) {
+            response = ScenarioRun.failed(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    e.getMessage() + ", available: " + scenarioEngine.scenarios().keySet());
+        }
+
+        logger.info("Gateway service returning scenario response");
+        return response;
+    }
+}
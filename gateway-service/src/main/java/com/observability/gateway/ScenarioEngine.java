@@ -0,0 +1,236 @@
+package com.observability.gateway;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.observability.processor.grpc.ProcessorServiceGrpc;
+import com.observability.processor.grpc.ScenarioStepRequest;
+import com.observability.processor.grpc.ScenarioStepResponse;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs scenario trees. Steps that stay in the gateway run here; remote steps are sent to the
+ * processor as a {@link ScenarioHop} descriptor, where the processor's engine runs that subtree.
+ * Each step gets its own span, and the fan-out copies of a step's children run concurrently.
+ */
+@Component
+public class ScenarioEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioEngine.class);
+
+    // The processor has no database, Elasticsearch or Kafka reply correlator
+    private static final Set<ScenarioStep.Transport> GATEWAY_ONLY =
+            EnumSet.of(ScenarioStep.Transport.DB, ScenarioStep.Transport.ES, ScenarioStep.Transport.KAFKA_RR);
+
+    private final ScenarioProperties properties;
+    private final RestTemplate restTemplate;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaReplyCorrelator kafkaReplyCorrelator;
+    private final KafkaSendMonitor kafkaSendMonitor;
+    private final KeyValueRepository keyValueRepository;
+    private final SearchWorkload searchWorkload;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService scenarioExecutor;
+    private final LatencyInjector latencyInjector;
+    private final ProcessorServiceGrpc.ProcessorServiceBlockingStub processorServiceStub;
+    private final Tracer tracer = GlobalOpenTelemetry.getTracer("gateway-service");
+
+    public ScenarioEngine(ScenarioProperties properties, RestTemplate restTemplate,
+                          KafkaTemplate<String, String> kafkaTemplate, KafkaReplyCorrelator kafkaReplyCorrelator,
+                          KafkaSendMonitor kafkaSendMonitor, KeyValueRepository keyValueRepository,
+                          SearchWorkload searchWorkload, ObjectMapper objectMapper,
+                          @Qualifier("scenarioExecutor") ExecutorService scenarioExecutor,
+                          LatencyInjector latencyInjector, ProcessorChannelPool processorChannelPool) {
+        this.properties = properties;
+        this.restTemplate = restTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaReplyCorrelator = kafkaReplyCorrelator;
+        this.kafkaSendMonitor = kafkaSendMonitor;
+        this.keyValueRepository = keyValueRepository;
+        this.searchWorkload = searchWorkload;
+        this.objectMapper = objectMapper;
+        this.scenarioExecutor = scenarioExecutor;
+        this.latencyInjector = latencyInjector;
+        this.processorServiceStub = ProcessorServiceGrpc.newBlockingStub(processorChannelPool);
+
+        properties.definitions().forEach((name, root) -> {
+            validate(name, root, true);
+            if (root.totalSteps() > properties.maxSteps()) {
+                throw new IllegalStateException("Scenario " + name + " runs " + root.totalSteps()
+                        + " steps, more than gateway.scenario.max-steps (" + properties.maxSteps() + ")");
+            }
+        });
+        logger.info("Loaded scenarios: {}", properties.definitions().keySet());
+    }
+
+    private static void validate(String scenario, ScenarioStep step, boolean issuedByGateway) {
+        if (!issuedByGateway && GATEWAY_ONLY.contains(step.transport())) {
+            throw new IllegalStateException("Scenario " + scenario + ": step " + step.name() + " uses "
+                    + step.transport() + ", which can only follow gateway-side steps");
+        }
+        boolean runsOnGateway = issuedByGateway && !step.transport().isRemote();
+        for (ScenarioStep child : step.steps()) {
+            validate(scenario, child, runsOnGateway);
+        }
+    }
+
+    /**
+     * Scenario names with the number of steps one run of each executes.
+     */
+    public Map<String, Long> scenarios() {
+        Map<String, Long> scenarios = new TreeMap<>();
+        properties.definitions().forEach((name, root) -> scenarios.put(name, root.totalSteps()));
+        return scenarios;
+    }
+
+    public ScenarioResult run(String scenario) {
+        ScenarioStep root = properties.definitions().get(scenario);
+        if (root == null) {
+            throw new IllegalArgumentException("Unknown scenario " + scenario);
+        }
+        return invoke(new ScenarioHop(scenario, 0, root));
+    }
+
+    private ScenarioResult invoke(ScenarioHop hop) {
+        try {
+            return switch (hop.step().transport()) {
+                case LOCAL -> execute(hop, null);
+                case DB -> execute(hop, () -> databaseOperation(hop));
+                case ES -> execute(hop, () -> searchWorkload.run(SearchWorkload.QueryType.random()));
+                case REST -> restTemplate.postForObject(properties.processorUrl() + "/api/scenario-step",
+                        hop, ScenarioResult.class);
+                case GRPC -> grpcHop(hop);
+                case KAFKA_RR -> kafkaRequestReplyHop(hop);
+                case KAFKA_FF -> kafkaFireAndForgetHop(hop);
+            };
+        } catch (Exception e) {
+            logger.warn("Scenario {} step {} failed over {}: {}", hop.scenario(), hop.step().name(),
+                    hop.step().transport(), e.getMessage());
+            return ScenarioResult.failed();
+        }
+    }
+
+    private ScenarioResult execute(ScenarioHop hop, Runnable operation) {
+        ScenarioStep step = hop.step();
+        Span span = tracer.spanBuilder("scenario " + step.name())
+                .setAttribute("scenario.name", hop.scenario())
+                .setAttribute("scenario.step", step.name())
+                .setAttribute("scenario.transport", step.transport().name())
+                .setAttribute("scenario.depth", (long) hop.depth())
+                .startSpan();
+        try (Scope scope = span.makeCurrent()) {
+            latencyInjector.pause(step.latency());
+            if (step.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < step.errorRate()) {
+                span.setStatus(StatusCode.ERROR, "Injected scenario error");
+                return ScenarioResult.failed();
+            }
+            if (operation != null) {
+                operation.run();
+            }
+            return ScenarioResult.ok().plus(runChildren(hop));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            span.setStatus(StatusCode.ERROR, "Interrupted");
+            return ScenarioResult.failed();
+        } catch (RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private ScenarioResult runChildren(ScenarioHop hop) {
+        List<ScenarioHop> children = new ArrayList<>();
+        for (ScenarioStep child : hop.step().steps()) {
+            for (int i = 0; i < child.fanOut(); i++) {
+                children.add(new ScenarioHop(hop.scenario(), hop.depth() + 1, child));
+            }
+        }
+        if (children.isEmpty()) {
+            return ScenarioResult.EMPTY;
+        }
+        if (children.size() == 1) {
+            return invoke(children.get(0));
+        }
+        List<CompletableFuture<ScenarioResult>> futures = new ArrayList<>(children.size());
+        for (ScenarioHop child : children) {
+            futures.add(CompletableFuture.supplyAsync(() -> invoke(child), scenarioExecutor));
+        }
+        ScenarioResult result = ScenarioResult.EMPTY;
+        for (CompletableFuture<ScenarioResult> future : futures) {
+            result = result.plus(future.join());
+        }
+        return result;
+    }
+
+    private void databaseOperation(ScenarioHop hop) {
+        String key = "scenario-" + hop.scenario() + "-" + hop.step().name();
+        keyValueRepository.save(new KeyValueEntity(key, "Updated at " + LocalDateTime.now(), LocalDateTime.now()));
+        keyValueRepository.findById(key);
+    }
+
+    private ScenarioResult grpcHop(ScenarioHop hop) throws JsonProcessingException {
+        ScenarioStepRequest request = ScenarioStepRequest.newBuilder()
+                .setHopJson(objectMapper.writeValueAsString(hop))
+                .build();
+        ScenarioStepResponse response = processorServiceStub
+                .withDeadlineAfter(properties.hopTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .executeScenarioStep(request);
+        return new ScenarioResult(response.getSteps(), response.getErrors());
+    }
+
+    private ScenarioResult kafkaRequestReplyHop(ScenarioHop hop) throws Exception {
+        KafkaReplyCorrelator.PendingReply pendingReply = kafkaReplyCorrelator.register();
+        try {
+            ProducerRecord<String, String> request = kafkaReplyCorrelator.requestRecord(pendingReply,
+                    properties.kafkaTopic(), objectMapper.writeValueAsString(hop));
+            kafkaSendMonitor.track(request.topic(), () -> kafkaTemplate.send(request))
+                    .whenComplete((sendResult, e) -> {
+                        if (e != null) {
+                            kafkaReplyCorrelator.fail(pendingReply.correlationId(), e);
+                        }
+                    });
+            Object reply = pendingReply.future().get(properties.hopTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            return objectMapper.readValue(reply.toString(), ScenarioResult.class);
+        } catch (InterruptedException e) {
+            kafkaReplyCorrelator.cancel(pendingReply.correlationId());
+            Thread.currentThread().interrupt();
+            logger.warn("Scenario {} step {} interrupted waiting for its Kafka reply", hop.scenario(), hop.step().name());
+            return ScenarioResult.failed();
+        } catch (Exception e) {
+            kafkaReplyCorrelator.cancel(pendingReply.correlationId());
+            throw e;
+        }
+    }
+
+    private ScenarioResult kafkaFireAndForgetHop(ScenarioHop hop) throws JsonProcessingException {
+        String descriptor = objectMapper.writeValueAsString(hop);
+        kafkaSendMonitor.track(properties.kafkaTopic(),
+                () -> kafkaTemplate.send(properties.kafkaTopic(), hop.scenario(), descriptor));
+        return ScenarioResult.ok();
+    }
+}
@@ -0,0 +1,24 @@
+package com.observability.gateway;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Scenario definitions, keyed by the name /scenario/{name} runs them under, loaded from
+ * scenarios.yml on the classpath and the optional file named by SCENARIOS_FILE.
+ */
+@ConfigurationProperties(prefix = "gateway.scenario")
+public record ScenarioProperties(
+        Map<String, ScenarioStep> definitions,
+        @DefaultValue("10000") long maxSteps,
+        @DefaultValue("http://processor-service:9981") String processorUrl,
+        @DefaultValue("scenario-steps") String kafkaTopic,
+        @DefaultValue("30s") Duration hopTimeout) {
+
+    public ScenarioProperties {
+        definitions = definitions != null ? Map.copyOf(definitions) : Map.of();
+    }
+}
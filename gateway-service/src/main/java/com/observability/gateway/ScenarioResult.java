@@ -0,0 +1,22 @@
+package com.observability.gateway;
+
+/**
+ * Number of steps a (sub)tree ran and how many of them failed. Kafka fire-and-forget hops count
+ * as one step, since their subtree's outcome never comes back.
+ */
+public record ScenarioResult(int steps, int errors) {
+
+    public static final ScenarioResult EMPTY = new ScenarioResult(0, 0);
+
+    public static ScenarioResult ok() {
+        return new ScenarioResult(1, 0);
+    }
+
+    public static ScenarioResult failed() {
+        return new ScenarioResult(1, 1);
+    }
+
+    public ScenarioResult plus(ScenarioResult other) {
+        return new ScenarioResult(steps + other.steps, errors + other.errors);
+    }
+}
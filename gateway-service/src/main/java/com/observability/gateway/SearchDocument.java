@@ -20,6 +20,9 @@ public class SearchDocument {
     @Field(type = FieldType.Date, format = DateFormat.date_hour_minute_second_millis)
     private LocalDateTime timestamp;
 
+    @Field(type = FieldType.Keyword)
+    private String category;
+
     public SearchDocument() {
     }
 
@@ -29,6 +32,11 @@ public class SearchDocument {
         this.timestamp = timestamp;
     }
 
+    public SearchDocument(String id, String content, LocalDateTime timestamp, String category) {
+        this(id, content, timestamp);
+        this.category = category;
+    }
+
     public String getId() {
         return id;
     }
@@ -52,4 +60,12 @@ public class SearchDocument {
     public void setTimestamp(LocalDateTime timestamp) {
         this.timestamp = timestamp;
     }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
 }
@@ -0,0 +1,58 @@
+package com.observability.gateway;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates {@link SearchDocument}s with varied content for the search workload. Words and
+ * categories are drawn with a skew towards the front of each list, so a few terms are common and
+ * most are rare, roughly like real log and event text.
+ */
+final class SearchDocumentGenerator {
+
+    private static final String[] WORDS = {
+            "request", "error", "timeout", "user", "order", "payment", "latency", "retry", "cache", "session",
+            "database", "query", "connection", "failed", "completed", "checkout", "inventory", "shipping",
+            "token", "expired", "upstream", "downstream", "queue", "consumer", "producer", "partition",
+            "rebalance", "index", "shard", "replica", "snapshot", "deadline", "exceeded", "circuit", "breaker",
+            "throttled", "backpressure", "allocation", "garbage", "collection", "heap", "thread", "pool",
+            "saturated", "degraded", "recovered", "invoice", "refund", "cart", "address", "warehouse",
+            "dispatch", "notification", "webhook", "signature", "certificate", "handshake", "tenant", "region"
+    };
+
+    private static final String[] CATEGORIES = {
+            "checkout", "payments", "inventory", "search", "auth", "shipping", "notifications", "billing"
+    };
+
+    private static final int MIN_WORDS = 8;
+    private static final int MAX_WORDS = 24;
+    private static final long MAX_TIMESTAMP_JITTER_MILLIS = 60_000;
+
+    private SearchDocumentGenerator() {
+    }
+
+    static SearchDocument generate(LocalDateTime now) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int wordCount = random.nextInt(MIN_WORDS, MAX_WORDS + 1);
+        StringBuilder content = new StringBuilder(wordCount * 10);
+        for (int i = 0; i < wordCount; i++) {
+            if (i > 0) {
+                content.append(' ');
+            }
+            content.append(skewed(WORDS, random));
+        }
+        LocalDateTime timestamp = now.minusNanos(random.nextLong(MAX_TIMESTAMP_JITTER_MILLIS) * 1_000_000);
+        return new SearchDocument(UUID.randomUUID().toString(), content.toString(), timestamp,
+                skewed(CATEGORIES, random));
+    }
+
+    static String randomTerm() {
+        return skewed(WORDS, ThreadLocalRandom.current());
+    }
+
+    private static String skewed(String[] values, ThreadLocalRandom random) {
+        double r = random.nextDouble();
+        return values[(int) (r * r * values.length)];
+    }
+}
@@ -0,0 +1,125 @@
+package com.observability.gateway;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs full-text, range and aggregation queries against the rolling search indices, recording
+ * the latency of each query type under gateway.es.search.
+ */
+@Component
+public class SearchWorkload {
+
+    public enum QueryType {
+        FULL_TEXT, RANGE, AGGREGATION;
+
+        static QueryType random() {
+            QueryType[] types = values();
+            return types[ThreadLocalRandom.current().nextInt(types.length)];
+        }
+    }
+
+    // Matches the DateFormat.date_hour_minute_second_millis mapping of SearchDocument.timestamp
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+    private static final int MAX_HITS = 20;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final RollingSearchIndex rollingSearchIndex;
+    private final SearchWorkloadProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public SearchWorkload(ElasticsearchOperations elasticsearchOperations, RollingSearchIndex rollingSearchIndex,
+                          SearchWorkloadProperties properties, MeterRegistry meterRegistry) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.rollingSearchIndex = rollingSearchIndex;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Map<String, Object> run(QueryType type) {
+        NativeQuery query = switch (type) {
+            case FULL_TEXT -> fullTextQuery();
+            case RANGE -> rangeQuery();
+            case AGGREGATION -> aggregationQuery();
+        };
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "failure";
+        try {
+            SearchHits<SearchDocument> hits = elasticsearchOperations.search(query, SearchDocument.class,
+                    rollingSearchIndex.searchCoordinates());
+            result = "success";
+
+            Map<String, Object> summary = new HashMap<>();
+            summary.put("queryType", type.name());
+            summary.put("totalHits", hits.getTotalHits());
+            summary.put("returnedHits", hits.getSearchHits().size());
+            if (type == QueryType.AGGREGATION && hits.getAggregations() instanceof ElasticsearchAggregations aggregations) {
+                summary.put("categories", categoryCounts(aggregations));
+            }
+            return summary;
+        } finally {
+            sample.stop(Timer.builder("gateway.es.search")
+                    .tag("type", type.name().toLowerCase())
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private NativeQuery fullTextQuery() {
+        String text = SearchDocumentGenerator.randomTerm() + " " + SearchDocumentGenerator.randomTerm();
+        return NativeQuery.builder()
+                .withQuery(q -> q.match(m -> m.field("content").query(text)))
+                .withMaxResults(MAX_HITS)
+                .build();
+    }
+
+    private NativeQuery rangeQuery() {
+        LocalDateTime now = LocalDateTime.now();
+        String from = TIMESTAMP_FORMATTER.format(now.minus(properties.rangeWindow()));
+        String to = TIMESTAMP_FORMATTER.format(now);
+        return NativeQuery.builder()
+                .withQuery(q -> q.range(r -> r.date(d -> d.field("timestamp").gte(from).lte(to))))
+                .withMaxResults(MAX_HITS)
+                .build();
+    }
+
+    private NativeQuery aggregationQuery() {
+        String from = TIMESTAMP_FORMATTER.format(LocalDateTime.now().minus(properties.rangeWindow()));
+        Aggregation perMinute = Aggregation.of(a -> a.dateHistogram(h -> h.field("timestamp")
+                .fixedInterval(i -> i.time("1m"))));
+        return NativeQuery.builder()
+                .withQuery(q -> q.range(r -> r.date(d -> d.field("timestamp").gte(from))))
+                .withAggregation("categories", Aggregation.of(a -> a.terms(t -> t.field("category").size(10))
+                        .aggregations("per_minute", perMinute)))
+                .withMaxResults(0)
+                .build();
+    }
+
+    private static Map<String, Long> categoryCounts(ElasticsearchAggregations aggregations) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        ElasticsearchAggregation categories = aggregations.get("categories");
+        if (categories != null) {
+            for (StringTermsBucket bucket : categories.aggregation().getAggregate().sterms().buckets().array()) {
+                counts.put(bucket.key().stringValue(), bucket.docCount());
+            }
+        }
+        return counts;
+    }
+}
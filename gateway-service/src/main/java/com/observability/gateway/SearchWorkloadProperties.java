@@ -0,0 +1,20 @@
+package com.observability.gateway;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the rolling search indices written by /es-ops-bulk and queried by /es-search.
+ * Documents go to indexPrefix-{timestamp formatted with indexDatePattern}, and an index template
+ * matching indexPrefix-* gives every new index the same mapping and shard layout.
+ */
+@ConfigurationProperties(prefix = "gateway.es-search")
+public record SearchWorkloadProperties(
+        @DefaultValue("observability-search") String indexPrefix,
+        @DefaultValue("yyyy.MM.dd") String indexDatePattern,
+        @DefaultValue("1") int shards,
+        @DefaultValue("0") int replicas,
+        @DefaultValue("15m") Duration rangeWindow) {
+}
@@ -0,0 +1,50 @@
+package com.observability.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that records how long writing a response body takes as the serialization
+ * phase of the endpoint that produced it. Only endpoints already tracked by {@link EndpointMetrics}
+ * are recorded, matched by their route without the leading slash.
+ */
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final EndpointMetrics endpointMetrics;
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper, EndpointMetrics endpointMetrics) {
+        super(objectMapper);
+        this.endpointMetrics = endpointMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        super.writeInternal(object, type, outputMessage);
+        EndpointMetrics.Endpoint endpoint = currentEndpoint();
+        if (endpoint != null) {
+            endpoint.recordSince(EndpointMetrics.Phase.SERIALIZATION, start);
+        }
+    }
+
+    private EndpointMetrics.Endpoint currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return pattern instanceof String route && route.length() > 1
+                ? endpointMetrics.find(route.substring(1))
+                : null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.observability.gateway;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Local ISO-8601 timestamps with millisecond precision for response bodies. The date-time part is
+ * formatted once per second and shared; each call only appends the cached ".SSS" suffix, so a
+ * timestamp costs one small string instead of the LocalDateTime graph and formatting of
+ * {@code LocalDateTime.now().toString()}.
+ */
+final class Timestamps {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final DateTimeFormatter SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final String[] MILLIS = new String[1000];
+
+    static {
+        for (int i = 0; i < MILLIS.length; i++) {
+            MILLIS[i] = String.format(".%03d", i);
+        }
+    }
+
+    private record Second(long epochSecond, String formatted) {
+    }
+
+    private static volatile Second current = new Second(Long.MIN_VALUE, "");
+
+    private Timestamps() {
+    }
+
+    static String now() {
+        return format(System.currentTimeMillis());
+    }
+
+    static String format(long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        Second second = current;
+        if (second.epochSecond() != epochSecond) {
+            // Racing threads may both format the new second; either result is correct
+            ZoneOffset offset = ZONE.getRules().getOffset(Instant.ofEpochSecond(epochSecond));
+            second = new Second(epochSecond, SECONDS.format(LocalDateTime.ofEpochSecond(epochSecond, 0, offset)));
+            current = second;
+        }
+        return second.formatted().concat(MILLIS[(int) Math.floorMod(epochMillis, 1000)]);
+    }
+}
@@ -0,0 +1,53 @@
+package com.observability.loadgen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice between gateway endpoints, e.g. {@code rest-chain=5,kafka-rr=2,grpc=1}.
+ */
+final class EndpointMix {
+
+    private final List<String> endpoints;
+    private final double[] cumulativeWeights;
+
+    private EndpointMix(List<String> endpoints, double[] cumulativeWeights) {
+        this.endpoints = endpoints;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    static EndpointMix parse(String spec) {
+        List<String> endpoints = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            String path = parts[0].startsWith("/") ? parts[0].substring(1) : parts[0];
+            double weight = parts.length > 1 ? Double.parseDouble(parts[1]) : 1;
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Endpoint weight must be positive: " + entry);
+            }
+            endpoints.add(path);
+            weights.add(weight);
+        }
+
+        double[] cumulative = new double[weights.size()];
+        double total = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            total += weights.get(i);
+            cumulative[i] = total;
+        }
+        return new EndpointMix(List.copyOf(endpoints), cumulative);
+    }
+
+    List<String> endpoints() {
+        return endpoints;
+    }
+
+    int next() {
+        double pick = ThreadLocalRandom.current().nextDouble(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = Arrays.binarySearch(cumulativeWeights, pick);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
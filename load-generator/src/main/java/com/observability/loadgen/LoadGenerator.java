@@ -0,0 +1,175 @@
+package com.observability.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load driver for the gateway. Requests are issued on a fixed arrival schedule regardless of
+ * how fast responses come back, each on its own virtual thread, and per-endpoint latency percentiles
+ * and achieved throughput are reported while running and at the end.
+ */
+public final class LoadGenerator {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LoadProfile profile;
+    private final URI target;
+    private final HttpClient httpClient;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight;
+    private final List<EndpointStats> stats;
+    private final HttpRequest[] requests;
+
+    LoadGenerator(LoadProfile profile, URI target) {
+        this.profile = profile;
+        this.target = target;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        this.inFlight = new Semaphore(profile.maxInFlight());
+        this.stats = profile.mix().endpoints().stream().map(EndpointStats::new).toList();
+        this.requests = profile.mix().endpoints().stream()
+                .map(endpoint -> HttpRequest.newBuilder(target.resolve("/" + endpoint))
+                        .timeout(profile.timeout())
+                        .GET()
+                        .build())
+                .toArray(HttpRequest[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadProfile profile;
+        try {
+            profile = LoadProfile.parse(args);
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadProfile.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        if (profile.help()) {
+            System.out.println(LoadProfile.USAGE);
+            return;
+        }
+
+        if (profile.stub()) {
+            try (StubServer stub = new StubServer(profile.stubLatency())) {
+                new LoadGenerator(profile, stub.uri()).run();
+            }
+        } else {
+            new LoadGenerator(profile, profile.target()).run();
+        }
+    }
+
+    void run() throws InterruptedException {
+        System.out.printf(Locale.ROOT, "Driving %s at %.0f req/s (ramp %s from %.0f req/s) for %s (warmup %s), mix %s%n",
+                target, profile.rate(), profile.rampUp(), profile.startRate(), profile.duration(),
+                profile.warmup(), profile.mix().endpoints());
+
+        long durationNanos = profile.duration().toNanos();
+        long reportNanos = profile.reportInterval().toNanos();
+        long start = System.nanoTime();
+        long measureFrom = start + profile.warmup().toNanos();
+        long nextTick = start;
+        long nextReport = start + reportNanos;
+        long lastReport = start;
+        long issued = 0;
+
+        while (true) {
+            long now = System.nanoTime();
+            long elapsed = now - start;
+            if (elapsed >= durationNanos) {
+                break;
+            }
+
+            long due = (long) profile.arrivalsAt(elapsed / 1e9);
+            for (; issued < due; issued++) {
+                issue(nextTick, nextTick >= measureFrom);
+            }
+
+            if (now >= nextReport) {
+                report("interval", (now - lastReport) / 1e9, true);
+                lastReport = now;
+                nextReport += reportNanos;
+            }
+
+            nextTick += TICK_NANOS;
+            LockSupport.parkNanos(nextTick - System.nanoTime());
+        }
+
+        // Let outstanding requests finish so the tail of the run is not cut off the histograms
+        inFlight.tryAcquire(profile.maxInFlight(), profile.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        report("interval", (System.nanoTime() - lastReport) / 1e9, true);
+        report("total", (System.nanoTime() - Math.min(measureFrom, start + durationNanos)) / 1e9, false);
+        executor.shutdownNow();
+    }
+
+    private void issue(long intendedStart, boolean measured) {
+        int index = profile.mix().next();
+        EndpointStats endpointStats = stats.get(index);
+        if (!inFlight.tryAcquire()) {
+            if (measured) {
+                endpointStats.drop();
+            }
+            return;
+        }
+
+        executor.execute(() -> {
+            boolean success = false;
+            try {
+                HttpResponse<String> response = httpClient.send(requests[index], HttpResponse.BodyHandlers.ofString());
+                // The gateway reports downstream failures as a 200 with an "error" field
+                success = response.statusCode() / 100 == 2 && !response.body().contains("\"error\"");
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            } finally {
+                if (measured) {
+                    endpointStats.record(System.nanoTime() - intendedStart, success);
+                }
+                inFlight.release();
+            }
+        });
+    }
+
+    private void report(String label, double seconds, boolean interval) {
+        System.out.printf(Locale.ROOT, "%n[%s %.1fs]%n%-22s %10s %10s %8s %8s %9s %9s %9s %9s %9s%n",
+                label, seconds, "endpoint", "req/s", "count", "errors", "dropped",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats endpointStats : stats) {
+            Histogram histogram = interval ? endpointStats.nextInterval() : endpointStats.total();
+            long errors = interval ? endpointStats.errorsSinceLastInterval() : endpointStats.errors();
+            String dropped = interval ? "-" : Long.toString(endpointStats.dropped());
+            System.out.printf(Locale.ROOT, "%-22s %10.1f %10d %8d %8s %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpointStats.endpoint(),
+                    histogram.getTotalCount() / seconds,
+                    histogram.getTotalCount(),
+                    errors,
+                    dropped,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
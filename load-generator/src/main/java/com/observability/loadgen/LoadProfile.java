@@ -0,0 +1,109 @@
+package com.observability.loadgen;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What to drive and how hard: target, endpoint mix, arrival rate with an optional linear ramp,
+ * and limits. Parsed from {@code --name value} or {@code --name=value} arguments.
+ */
+record LoadProfile(
+        URI target,
+        EndpointMix mix,
+        double rate,
+        double startRate,
+        Duration rampUp,
+        Duration duration,
+        Duration warmup,
+        int maxInFlight,
+        Duration timeout,
+        Duration reportInterval,
+        boolean stub,
+        Duration stubLatency,
+        boolean help) {
+
+    static final String USAGE = """
+            Usage: java -jar load-generator.jar [options]
+              --target URL           gateway base URL (default http://localhost:9980)
+              --mix SPEC             weighted endpoints, e.g. rest-chain=5,kafka-rr=2,grpc=1 (default rest-chain=1)
+              --rate N               target requests/s after ramp-up (default 100)
+              --start-rate N         requests/s at the start of the ramp (default 0 with --ramp-up, else --rate)
+              --ramp-up DURATION     linear ramp from --start-rate to --rate (default 0s)
+              --duration DURATION    total run time including ramp-up (default 60s)
+              --warmup DURATION      initial period excluded from the statistics (default 0s)
+              --max-in-flight N      outstanding requests before new arrivals are dropped (default 10000)
+              --timeout DURATION     per-request timeout (default 10s)
+              --report-interval D    interval between progress reports (default 5s)
+              --stub                 start an in-process stub gateway and drive it instead of --target
+              --stub-latency D       simulated latency of the stub (default 20ms)
+              --help                 print this message and exit
+            Durations accept ms, s and m suffixes, e.g. 500ms, 30s, 2m.
+            """;
+
+    static LoadProfile parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            } else if (arg.equals("--stub") || arg.equals("--help")) {
+                options.put(arg.substring(2), "true");
+            } else if (i + 1 < args.length) {
+                options.put(arg.substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+        }
+
+        Duration rampUp = duration(options.getOrDefault("ramp-up", "0s"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+        double startRate = options.containsKey("start-rate")
+                ? Double.parseDouble(options.get("start-rate"))
+                : rampUp.isZero() ? rate : 0;
+
+        return new LoadProfile(
+                URI.create(options.getOrDefault("target", "http://localhost:9980")),
+                EndpointMix.parse(options.getOrDefault("mix", "rest-chain=1")),
+                rate,
+                startRate,
+                rampUp,
+                duration(options.getOrDefault("duration", "60s")),
+                duration(options.getOrDefault("warmup", "0s")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "10000")),
+                duration(options.getOrDefault("timeout", "10s")),
+                duration(options.getOrDefault("report-interval", "5s")),
+                Boolean.parseBoolean(options.getOrDefault("stub", "false")),
+                duration(options.getOrDefault("stub-latency", "20ms")),
+                Boolean.parseBoolean(options.getOrDefault("help", "false")));
+    }
+
+    /**
+     * Number of requests that should have been issued {@code seconds} into the run.
+     */
+    double arrivalsAt(double seconds) {
+        double ramp = rampUp.toNanos() / 1e9;
+        if (seconds <= ramp) {
+            return startRate * seconds + (rate - startRate) * seconds * seconds / (2 * ramp);
+        }
+        return startRate * ramp + (rate - startRate) * ramp / 2 + rate * (seconds - ramp);
+    }
+
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
@@ -1,18 +1,16 @@
 #!/bin/bash
 
-URL="http://localhost:9980/rest-chain"
-REQS_PER_SEC=1000
-
-while true; do
-  seq $REQS_PER_SEC | xargs -n1 -P1000 -I{} curl -s -o /dev/null "$URL" &
-  sleep 1
-done
-
-
-
-
-
+# Drives the gateway with the open-loop Java load generator; all arguments are passed through.
+# Example: ./load_test.sh --rate 1000 --duration 2m --mix rest-chain=3,kafka-rr=1,grpc=1
+# Run with --help for all options.
 
+set -e
 
+cd "$(dirname "$0")"
+JAR="load-generator/target/load-generator.jar"
 
+if [ ! -f "$JAR" ]; then
+  mvn -q -pl load-generator -am package -DskipTests
+fi
 
+exec java -jar "$JAR" "$@"
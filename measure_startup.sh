@@ -0,0 +1,66 @@
+#!/bin/bash
+
+# Recreates each service container and reports how long it takes to answer /actuator/health/readiness,
+# Spring's own "Started ... in N seconds" figure, and the JVM's resident memory once ready.
+# Example: SERVICE_IMAGE_TAG=1.0.0-fast ./measure_startup.sh --runs 5
+# The rest of the stack (Kafka, Postgres, Elasticsearch, collector) must already be up.
+
+set -e
+
+cd "$(dirname "$0")"
+
+RUNS=3
+SERVICES="processor-service gateway-service"
+TIMEOUT_SECONDS=120
+
+while [ $# -gt 0 ]; do
+  case "$1" in
+    --runs) RUNS="$2"; shift 2 ;;
+    --service) SERVICES="$2"; shift 2 ;;
+    --timeout) TIMEOUT_SECONDS="$2"; shift 2 ;;
+    *) echo "Usage: $0 [--runs N] [--service processor-service|gateway-service] [--timeout seconds]"; exit 1 ;;
+  esac
+done
+
+port() {
+  case "$1" in
+    gateway-service) echo 9980 ;;
+    processor-service) echo 9981 ;;
+  esac
+}
+
+now_ms() {
+  date +%s%3N
+}
+
+echo "Image tag: ${SERVICE_IMAGE_TAG:-1.0.0}"
+printf "%-18s %4s %10s %12s %10s\n" "service" "run" "ready ms" "started (s)" "RSS MiB"
+
+for service in $SERVICES; do
+  url="http://localhost:$(port "$service")/actuator/health/readiness"
+  total_ready=0
+  total_rss=0
+  for run in $(seq 1 "$RUNS"); do
+    docker-compose stop "$service" > /dev/null 2>&1
+    start=$(now_ms)
+    docker-compose up -d --no-deps --force-recreate "$service" > /dev/null 2>&1
+
+    until curl -sf -o /dev/null "$url"; do
+      if [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_SECONDS * 1000 )) ]; then
+        echo "$service did not become ready within ${TIMEOUT_SECONDS}s"
+        exit 1
+      fi
+      sleep 0.05
+    done
+    ready=$(( $(now_ms) - start ))
+
+    started=$(docker logs "$service" 2>&1 | sed -n 's/.*Started .* in \([0-9.]*\) seconds.*/\1/p' | tail -1)
+    rss_kb=$(docker exec "$service" sh -c "grep VmRSS /proc/1/status" | awk '{print $2}')
+    rss=$(( rss_kb / 1024 ))
+
+    printf "%-18s %4d %10d %12s %10d\n" "$service" "$run" "$ready" "${started:--}" "$rss"
+    total_ready=$(( total_ready + ready ))
+    total_rss=$(( total_rss + rss ))
+  done
+  printf "%-18s %4s %10d %12s %10d\n" "$service" "avg" $(( total_ready / RUNS )) "" $(( total_rss / RUNS ))
+done
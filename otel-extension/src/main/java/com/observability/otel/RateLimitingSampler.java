@@ -0,0 +1,95 @@
+package com.observability.otel;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Root sampler that admits at most {@code tracesPerSecond} new traces per second,
+ * using a lock-free GCRA token bucket with a one-second burst allowance.
+ * Decisions are exported as {@code otel.sampler.root_spans{decision=sampled|dropped}}.
+ */
+public final class RateLimitingSampler implements Sampler {
+
+    private static final AttributeKey<String> DECISION = AttributeKey.stringKey("decision");
+    private static final Attributes SAMPLED = Attributes.of(DECISION, "sampled");
+    private static final Attributes DROPPED = Attributes.of(DECISION, "dropped");
+
+    private final double tracesPerSecond;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean metricsRegistered = new AtomicBoolean();
+
+    public RateLimitingSampler(double tracesPerSecond) {
+        if (!(tracesPerSecond > 0)) {
+            throw new IllegalArgumentException("tracesPerSecond must be positive: " + tracesPerSecond);
+        }
+        this.tracesPerSecond = tracesPerSecond;
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / tracesPerSecond));
+        this.burstNanos = 1_000_000_000L;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name,
+                                       SpanKind spanKind, Attributes attributes, List<LinkData> parentLinks) {
+        registerMetrics();
+        if (tryAcquire()) {
+            sampled.increment();
+            return SamplingResult.recordAndSample();
+        }
+        dropped.increment();
+        return SamplingResult.drop();
+    }
+
+    @Override
+    public String getDescription() {
+        return "RateLimitingSampler{" + tracesPerSecond + "}";
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, now - burstNanos);
+            if (start - now > 0) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Registered on the first decision rather than at construction: the sampler is built while the
+     * agent is still assembling the SDK, before {@link GlobalOpenTelemetry} is installed.
+     */
+    private void registerMetrics() {
+        if (metricsRegistered.get() || !metricsRegistered.compareAndSet(false, true)) {
+            return;
+        }
+        GlobalOpenTelemetry.getMeter("com.observability.otel")
+                .counterBuilder("otel.sampler.root_spans")
+                .setDescription("Root sampling decisions taken by the rate-limiting sampler")
+                .setUnit("{span}")
+                .buildWithCallback(measurement -> {
+                    measurement.record(sampled.sum(), SAMPLED);
+                    measurement.record(dropped.sum(), DROPPED);
+                });
+    }
+}
@@ -0,0 +1,26 @@
+package com.observability.otel;
+
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import io.opentelemetry.sdk.autoconfigure.spi.traces.ConfigurableSamplerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+/**
+ * Registers {@code OTEL_TRACES_SAMPLER=parentbased_ratelimiting}. {@code OTEL_TRACES_SAMPLER_ARG}
+ * is the number of new traces per second each service instance may start; child spans follow
+ * the parent's decision so admitted traces stay complete across services.
+ */
+public class RateLimitingSamplerProvider implements ConfigurableSamplerProvider {
+
+    static final double DEFAULT_TRACES_PER_SECOND = 100;
+
+    @Override
+    public Sampler createSampler(ConfigProperties config) {
+        double tracesPerSecond = config.getDouble("otel.traces.sampler.arg", DEFAULT_TRACES_PER_SECOND);
+        return Sampler.parentBased(new RateLimitingSampler(tracesPerSecond));
+    }
+
+    @Override
+    public String getName() {
+        return "parentbased_ratelimiting";
+    }
+}
@@ -0,0 +1,54 @@
+package com.observability.processor;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Queue depth and shed events of the {@link MeteredAsyncAppender} configured in logback-spring.xml.
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof MeteredAsyncAppender appender) {
+                bind(registry, appender);
+            }
+        }
+    }
+
+    private static void bind(MeterRegistry registry, MeteredAsyncAppender appender) {
+        String name = appender.getName();
+        Gauge.builder("processor.logging.async.queued", appender, MeteredAsyncAppender::getNumberOfElementsInQueue)
+                .description("Log events waiting for the async appender's worker")
+                .tag("appender", name)
+                .register(registry);
+        Gauge.builder("processor.logging.async.capacity", appender, MeteredAsyncAppender::getQueueSize)
+                .description("Capacity of the async appender's queue")
+                .tag("appender", name)
+                .register(registry);
+        FunctionCounter.builder("processor.logging.async.dropped", appender, MeteredAsyncAppender::discarded)
+                .description("Log events shed by the async appender")
+                .tags("appender", name, "reason", "threshold")
+                .register(registry);
+        FunctionCounter.builder("processor.logging.async.dropped", appender, MeteredAsyncAppender::overflowed)
+                .description("Log events shed by the async appender")
+                .tags("appender", name, "reason", "overflow")
+                .register(registry);
+    }
+}
@@ -0,0 +1,98 @@
+package com.observability.processor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-endpoint breakdown of where a request's time goes, as processor.endpoint.phase{endpoint,phase}
+ * timers, plus processor.endpoint.in_flight{endpoint}. Endpoints are keyed by their latency profile name;
+ * callers on the hot path resolve their {@link Endpoint} once and record raw nanoTime deltas.
+ */
+@Component
+public class EndpointMetrics {
+
+    public enum Phase {
+        /** A due continuation waiting for a thread of the latency continuation executor. */
+        QUEUE_WAIT("queue_wait"),
+        /** The simulated work sampled from the endpoint's latency profile. */
+        INJECTED_LATENCY("injected_latency"),
+        /**
+         * Calls to a next hop. The processor answers its endpoints itself, so nothing records this phase
+         * here; it is kept so both services export the same phase tags.
+         */
+        DOWNSTREAM("downstream"),
+        /** Encoding the response body and handing it to the transport. */
+        SERIALIZATION("serialization");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public EndpointMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Endpoint endpoint(String name) {
+        Endpoint endpoint = endpoints.get(name);
+        return endpoint != null ? endpoint : endpoints.computeIfAbsent(name, this::register);
+    }
+
+    private Endpoint register(String name) {
+        Timer[] phases = new Timer[Phase.values().length];
+        for (Phase phase : Phase.values()) {
+            phases[phase.ordinal()] = Timer.builder("processor.endpoint.phase")
+                    .tags("endpoint", name, "phase", phase.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(10_000))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry);
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder("processor.endpoint.in_flight", inFlight, AtomicInteger::get)
+                .description("Requests accepted by the endpoint and not yet answered")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        return new Endpoint(phases, inFlight);
+    }
+
+    public static final class Endpoint {
+
+        private final Timer[] phases;
+        private final AtomicInteger inFlight;
+
+        private Endpoint(Timer[] phases, AtomicInteger inFlight) {
+            this.phases = phases;
+            this.inFlight = inFlight;
+        }
+
+        public void record(Phase phase, long nanos) {
+            phases[phase.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        public void recordSince(Phase phase, long startNanos) {
+            record(phase, System.nanoTime() - startNanos);
+        }
+
+        /** Counts a request as in flight until the matching {@link #finished()}. */
+        public void started() {
+            inFlight.incrementAndGet();
+        }
+
+        public void finished() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.observability.processor;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Sheds gRPC calls with RESOURCE_EXHAUSTED once the bounded grpc-server executor queue is full.
+ * grpc-java resets the stream with INTERNAL when its executor rejects a task, so rejected tasks run on
+ * a single shedding thread instead, where this interceptor closes new calls before they reach the
+ * service. Callbacks of calls that were already admitted still run there, so none of them are lost.
+ */
+public class GrpcLoadShedder implements ServerInterceptor, RejectedExecutionHandler, DisposableBean {
+
+    private static final ThreadLocal<Boolean> SHEDDING = ThreadLocal.withInitial(() -> false);
+
+    private final ExecutorService sheddingExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("grpc-shedding").daemon().factory());
+    private final Counter shedCalls;
+
+    public GrpcLoadShedder(MeterRegistry meterRegistry) {
+        this.shedCalls = Counter.builder("processor.grpc.server.shed")
+                .description("gRPC calls rejected with RESOURCE_EXHAUSTED because the call executor queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("gRPC server executor is shut down");
+        }
+        sheddingExecutor.execute(() -> {
+            SHEDDING.set(true);
+            try {
+                task.run();
+            } finally {
+                SHEDDING.set(false);
+            }
+        });
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                      ServerCallHandler<Q, R> next) {
+        if (SHEDDING.get()) {
+            shedCalls.increment();
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("gRPC server executor queue is full"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        return next.startCall(call, headers);
+    }
+
+    @Override
+    public void destroy() {
+        sheddingExecutor.shutdown();
+    }
+}
@@ -1,41 +1,206 @@
 package com.observability.processor;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.observability.processor.grpc.ProcessRequest;
 import com.observability.processor.grpc.ProcessResponse;
 import com.observability.processor.grpc.ProcessorServiceGrpc;
+import com.observability.processor.grpc.ScenarioStepRequest;
+import com.observability.processor.grpc.ScenarioStepResponse;
+import com.observability.processor.grpc.StreamProcessRequest;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import net.devh.boot.grpc.server.service.GrpcService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @GrpcService
 public class GrpcProcessorService extends ProcessorServiceGrpc.ProcessorServiceImplBase {
 
     private static final Logger logger = LoggerFactory.getLogger(GrpcProcessorService.class);
 
+    private final ScenarioEngine scenarioEngine;
+    private final ObjectMapper objectMapper;
+    private final LatencyInjector latencyInjector;
+    private final EndpointMetrics.Endpoint grpcMetrics;
+    private final ExecutorService scenarioExecutor;
+
+    public GrpcProcessorService(ScenarioEngine scenarioEngine, ObjectMapper objectMapper,
+                                LatencyInjector latencyInjector, EndpointMetrics endpointMetrics,
+                                @Qualifier("scenarioExecutor") ExecutorService scenarioExecutor) {
+        this.scenarioEngine = scenarioEngine;
+        this.scenarioExecutor = scenarioExecutor;
+        this.objectMapper = objectMapper;
+        this.latencyInjector = latencyInjector;
+        this.grpcMetrics = endpointMetrics.endpoint("grpc");
+    }
+
     @Override
     public void processData(ProcessRequest request, StreamObserver<ProcessResponse> responseObserver) {
         logger.info("Processor service received gRPC request with message: {}", request.getMessage());
+        grpcMetrics.started();
+
+        // The call's executor thread is released during the delay; the response is sent from the continuation.
+        // The continuation runs in the call's gRPC context, so the caller's deadline applies to anything it
+        // calls, and work for a call whose deadline passed or that was cancelled is skipped.
+        io.grpc.Context callContext = io.grpc.Context.current();
+        latencyInjector.delayedExecutor("grpc").execute(callContext.wrap(() -> {
+            if (callContext.isCancelled()) {
+                grpcMetrics.finished();
+                logger.debug("Processor service dropped gRPC request that was cancelled or past its deadline");
+                return;
+            }
+            long serializationStart = System.nanoTime();
+            ProcessResponse response = ProcessResponse.newBuilder()
+                    .setService("processor-service")
+                    .setTimestamp(LocalDateTime.now().toString())
+                    .setProcessedData("Processed by Processor Service via gRPC")
+                    .setData("Final data from Processor via gRPC")
+                    .build();
+
+            logger.debug("Processor service sending gRPC response");
+
+            // onNext marshals the message on this thread before handing it to the transport
+            try {
+                responseObserver.onNext(response);
+                responseObserver.onCompleted();
+            } finally {
+                grpcMetrics.recordSince(EndpointMetrics.Phase.SERIALIZATION, serializationStart);
+                grpcMetrics.finished();
+            }
+        }));
+    }
+
+    /**
+     * Emits {@code count} responses on one stream after the injected latency, writing only while the
+     * transport reports the stream ready so a slow gateway applies backpressure instead of responses
+     * piling up in memory.
+     */
+    @Override
+    public void streamProcessData(StreamProcessRequest request, StreamObserver<ProcessResponse> responseObserver) {
+        logger.info("Processor service received gRPC stream request with message: {} and count: {}",
+                request.getMessage(), request.getCount());
+
+        ServerCallStreamObserver<ProcessResponse> serverObserver = (ServerCallStreamObserver<ProcessResponse>) responseObserver;
+        int count = request.getCount();
+        AtomicInteger sent = new AtomicInteger();
+        AtomicBoolean started = new AtomicBoolean();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        // The ready handler runs on the call's executor and the first drain on the latency continuation, so
+        // drains lock the observer to never overlap; ready signals before the delay has passed are ignored
+        Runnable drain = () -> {
+            synchronized (serverObserver) {
+                while (started.get() && serverObserver.isReady() && !serverObserver.isCancelled() && sent.get() < count) {
+                    serverObserver.onNext(streamResponse("server-streaming", sent.getAndIncrement()));
+                }
+                if (started.get() && sent.get() >= count && completed.compareAndSet(false, true)) {
+                    logger.info("Processor service completed gRPC stream after {} responses", sent.get());
+                    serverObserver.onCompleted();
+                }
+            }
+        };
+        serverObserver.setOnCancelHandler(() -> logger.info("Gateway cancelled gRPC stream after {} responses", sent.get()));
+        serverObserver.setOnReadyHandler(drain);
+        latencyInjector.delayedExecutor("grpc-stream").execute(() -> {
+            started.set(true);
+            drain.run();
+        });
+    }
+
+    /**
+     * Answers each inbound request with one response. Inbound messages are requested one at a time and
+     * only while the outbound side is ready, so flow control propagates end to end.
+     */
+    @Override
+    public StreamObserver<ProcessRequest> processDataStream(StreamObserver<ProcessResponse> responseObserver) {
+        logger.info("Processor service opened bidirectional gRPC stream");
+
+        ServerCallStreamObserver<ProcessResponse> serverObserver = (ServerCallStreamObserver<ProcessResponse>) responseObserver;
+        serverObserver.disableAutoRequest();
+        AtomicBoolean wasReady = new AtomicBoolean();
+        AtomicInteger received = new AtomicInteger();
+
+        serverObserver.setOnReadyHandler(() -> {
+            if (serverObserver.isReady() && wasReady.compareAndSet(false, true)) {
+                serverObserver.request(1);
+            }
+        });
+
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(ProcessRequest request) {
+                serverObserver.onNext(streamResponse("bidirectional-streaming", received.getAndIncrement()));
+                if (serverObserver.isReady()) {
+                    serverObserver.request(1);
+                } else {
+                    wasReady.set(false);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                logger.warn("Bidirectional gRPC stream failed after {} requests", received.get(), t);
+            }
+
+            @Override
+            public void onCompleted() {
+                logger.info("Processor service completed bidirectional gRPC stream after {} requests", received.get());
+                serverObserver.onCompleted();
+            }
+        };
+    }
 
+    @Override
+    public void executeScenarioStep(ScenarioStepRequest request, StreamObserver<ScenarioStepResponse> responseObserver) {
+        ScenarioHop hop;
         try {
-            Thread.sleep(30);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            hop = objectMapper.readValue(request.getHopJson(), ScenarioHop.class);
+        } catch (JsonProcessingException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Invalid scenario hop: " + e.getOriginalMessage())
+                    .asRuntimeException());
+            return;
         }
+        logger.info("Processor service received gRPC scenario step {} of {}", hop.step().name(), hop.scenario());
+
+        // The step blocks on its child hops, which may call back into this server, so it runs on the
+        // scenario executor rather than holding one of the bounded gRPC server threads while it waits;
+        // it keeps the call's gRPC context, so the caller's deadline still applies to the child hops
+        CompletableFuture.supplyAsync(() -> scenarioEngine.execute(hop),
+                        io.grpc.Context.current().fixedContextExecutor(scenarioExecutor))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        logger.warn("Processor service failed gRPC scenario step {} of {}", hop.step().name(),
+                                hop.scenario(), error);
+                        responseObserver.onError(Status.INTERNAL
+                                .withDescription("Scenario step failed: " + error.getMessage())
+                                .asRuntimeException());
+                        return;
+                    }
+                    responseObserver.onNext(ScenarioStepResponse.newBuilder()
+                            .setSteps(result.steps())
+                            .setErrors(result.errors())
+                            .build());
+                    responseObserver.onCompleted();
+                });
+    }
 
-        ProcessResponse response = ProcessResponse.newBuilder()
+    private static ProcessResponse streamResponse(String mode, int sequence) {
+        return ProcessResponse.newBuilder()
                 .setService("processor-service")
                 .setTimestamp(LocalDateTime.now().toString())
-                .setProcessedData("Processed by Processor Service via gRPC")
+                .setProcessedData("Processed by Processor Service via gRPC " + mode)
                 .setData("Final data from Processor via gRPC")
+                .setSequence(sequence)
                 .build();
-
-        logger.info("Processor service sending gRPC response");
-
-        responseObserver.onNext(response);
-        responseObserver.onCompleted();
     }
 }
-
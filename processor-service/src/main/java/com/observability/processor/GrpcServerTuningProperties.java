@@ -0,0 +1,17 @@
+package com.observability.processor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Execution limits of the gRPC server. executorThreads sizes the platform call executor (virtual
+ * threads are unbounded) and queueCapacity bounds the work waiting for it; calls arriving at a full
+ * queue are shed with RESOURCE_EXHAUSTED. maxConcurrentCallsPerConnection is the HTTP/2
+ * MAX_CONCURRENT_STREAMS the server advertises to each client connection.
+ */
+@ConfigurationProperties(prefix = "processor.grpc")
+public record GrpcServerTuningProperties(
+        @DefaultValue("32") int executorThreads,
+        @DefaultValue("1000") int queueCapacity,
+        @DefaultValue("1000") int maxConcurrentCallsPerConnection) {
+}
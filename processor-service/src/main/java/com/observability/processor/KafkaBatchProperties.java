@@ -0,0 +1,17 @@
+package com.observability.processor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the batch Kafka listener mode. Container concurrency and poll size are read directly
+ * by the {@code @KafkaListener} annotations; parallelism sizes the pool records of a batch run on.
+ */
+@ConfigurationProperties(prefix = "processor.kafka.batch")
+public record KafkaBatchProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1") int concurrency,
+        @DefaultValue("500") int maxRecords,
+        @DefaultValue("16") int parallelism,
+        @DefaultValue("false") boolean virtualThreads) {
+}
@@ -0,0 +1,82 @@
+package com.observability.processor;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.StreamSupport;
+
+/**
+ * Restores the trace context a record was produced with. A batch listener receives a single batch
+ * span, so each record is processed under its own span parented to the producer's context.
+ */
+final class KafkaRecordTracing {
+
+    private static final TextMapGetter<Headers> HEADERS_GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(Headers headers) {
+            return StreamSupport.stream(headers.spliterator(), false).map(Header::key).toList();
+        }
+
+        @Override
+        public String get(Headers headers, String key) {
+            Header header = headers == null ? null : headers.lastHeader(key);
+            return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+        }
+    };
+
+    private KafkaRecordTracing() {
+    }
+
+    /**
+     * Starts the record's span and runs the work under it; the span stays open until the returned
+     * future completes, so it covers work scheduled past the listener call.
+     */
+    static <T> CompletableFuture<T> inRecordContext(ConsumerRecord<String, String> record,
+                                                    Supplier<CompletableFuture<T>> work) {
+        Span span = startSpan(record);
+        CompletableFuture<T> future;
+        try (Scope scope = span.makeCurrent()) {
+            future = work.get();
+        } catch (RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            span.end();
+            throw e;
+        }
+        return future.whenComplete((result, e) -> {
+            if (e != null) {
+                span.recordException(e);
+                span.setStatus(StatusCode.ERROR);
+            }
+            span.end();
+        });
+    }
+
+    private static Span startSpan(ConsumerRecord<String, String> record) {
+        Context parent = GlobalOpenTelemetry.getPropagators().getTextMapPropagator()
+                .extract(Context.root(), record.headers(), HEADERS_GETTER);
+        Tracer tracer = GlobalOpenTelemetry.getTracer("processor-service");
+        return tracer.spanBuilder(record.topic() + " process")
+                .setSpanKind(SpanKind.CONSUMER)
+                .setParent(parent)
+                .setAttribute("messaging.system", "kafka")
+                .setAttribute("messaging.destination.name", record.topic())
+                .setAttribute("messaging.operation", "process")
+                .setAttribute("messaging.kafka.message.key", record.key())
+                .setAttribute("messaging.kafka.destination.partition", (long) record.partition())
+                .setAttribute("messaging.kafka.message.offset", record.offset())
+                .startSpan();
+    }
+}
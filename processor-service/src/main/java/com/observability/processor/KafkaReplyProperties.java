@@ -0,0 +1,18 @@
+package com.observability.processor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for replies on the Kafka request-reply exchange.
+ */
+@ConfigurationProperties(prefix = "processor.kafka.reply")
+public record KafkaReplyProperties(@DefaultValue("json") PayloadFormat format) {
+
+    public enum PayloadFormat {
+        /** Hand-built JSON string, serialized with StringSerializer. */
+        JSON,
+        /** {@code ProcessResponse} protobuf message, serialized with {@link ProcessResponseSerializer}. */
+        PROTOBUF
+    }
+}
@@ -0,0 +1,128 @@
+package com.observability.processor;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Simulates work by scheduling continuations on a single timer thread instead of sleeping, so a
+ * delayed request holds no thread while it waits. Delays are sampled per call from the endpoint's
+ * {@link LatencyProfile}, and continuations run under the trace context they were scheduled from.
+ * Per endpoint, the delay is recorded as injected latency and the wait for a continuation thread
+ * as queue wait in {@link EndpointMetrics}.
+ */
+@Component
+public class LatencyInjector implements DisposableBean {
+
+    private final LatencyProperties properties;
+    private final EndpointMetrics endpointMetrics;
+    private final ExecutorService continuationExecutor;
+    private final ScheduledThreadPoolExecutor timer;
+
+    public LatencyInjector(LatencyProperties properties, EndpointMetrics endpointMetrics,
+                           @Qualifier("latencyContinuationExecutor") ExecutorService continuationExecutor) {
+        this.properties = properties;
+        this.endpointMetrics = endpointMetrics;
+        this.continuationExecutor = continuationExecutor;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "latency-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Completes after the endpoint's sampled latency. Dependent stages run on the timer thread, so
+     * they must not block; use {@link #delay(String, Supplier)} for blocking continuations.
+     */
+    public CompletableFuture<Void> delay(String endpoint) {
+        EndpointMetrics.Endpoint metrics = endpointMetrics.endpoint(endpoint);
+        long scheduled = System.nanoTime();
+        return delay(properties.profile(endpoint))
+                .thenRun(() -> metrics.recordSince(EndpointMetrics.Phase.INJECTED_LATENCY, scheduled));
+    }
+
+    public CompletableFuture<Void> delay(LatencyProfile profile) {
+        long nanos = profile.sampleNanos();
+        if (nanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Context context = Context.current();
+        timer.schedule(() -> {
+            try (Scope scope = context.makeCurrent()) {
+                future.complete(null);
+            }
+        }, nanos, TimeUnit.NANOSECONDS);
+        return future;
+    }
+
+    /**
+     * Runs the continuation on the continuation executor once the endpoint's sampled latency has passed.
+     */
+    public <T> CompletableFuture<T> delay(String endpoint, Supplier<T> continuation) {
+        EndpointMetrics.Endpoint metrics = endpointMetrics.endpoint(endpoint);
+        return dueAt(endpoint, metrics).thenApplyAsync(due -> {
+            metrics.recordSince(EndpointMetrics.Phase.QUEUE_WAIT, due);
+            return continuation.get();
+        }, continuationExecutor);
+    }
+
+    /**
+     * Like {@link CompletableFuture#delayedExecutor}, but each task waits a latency sampled for the
+     * endpoint and then runs on the continuation executor.
+     */
+    public Executor delayedExecutor(String endpoint) {
+        EndpointMetrics.Endpoint metrics = endpointMetrics.endpoint(endpoint);
+        return task -> dueAt(endpoint, metrics).thenAcceptAsync(due -> {
+            metrics.recordSince(EndpointMetrics.Phase.QUEUE_WAIT, due);
+            task.run();
+        }, continuationExecutor);
+    }
+
+    /** Completes with the nanoTime at which the endpoint's sampled latency passed. */
+    private CompletableFuture<Long> dueAt(String endpoint, EndpointMetrics.Endpoint metrics) {
+        long scheduled = System.nanoTime();
+        return delay(properties.profile(endpoint)).thenApply(ignored -> {
+            long due = System.nanoTime();
+            metrics.record(EndpointMetrics.Phase.INJECTED_LATENCY, due - scheduled);
+            return due;
+        });
+    }
+
+    /**
+     * Blocks the calling thread for a latency sampled from the profile, for code that has to stay
+     * synchronous (e.g. single-record Kafka listeners, which process one record at a time by design).
+     */
+    public void pause(String endpoint) throws InterruptedException {
+        long start = System.nanoTime();
+        pause(properties.profile(endpoint));
+        endpointMetrics.endpoint(endpoint).recordSince(EndpointMetrics.Phase.INJECTED_LATENCY, start);
+    }
+
+    public void pause(LatencyProfile profile) throws InterruptedException {
+        long deadline = System.nanoTime() + profile.sampleNanos();
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+    }
+}
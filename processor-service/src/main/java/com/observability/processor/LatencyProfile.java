@@ -0,0 +1,57 @@
+package com.observability.processor;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency distribution for one endpoint or scenario step.
+ * <ul>
+ *   <li>FIXED: always {@code value}</li>
+ *   <li>UNIFORM: uniform between {@code min} and {@code max}</li>
+ *   <li>LOG_NORMAL: median {@code value}, shape {@code sigma}</li>
+ *   <li>PARETO: minimum {@code value}, tail index {@code alpha} (lower is heavier)</li>
+ * </ul>
+ * Samples are clamped to [min, max]; a zero max means no upper bound.
+ */
+public record LatencyProfile(
+        Distribution distribution,
+        Duration value,
+        Duration min,
+        Duration max,
+        double sigma,
+        double alpha) {
+
+    public static final LatencyProfile NONE = fixed(Duration.ZERO);
+
+    public enum Distribution {
+        FIXED, UNIFORM, LOG_NORMAL, PARETO
+    }
+
+    public LatencyProfile {
+        distribution = distribution != null ? distribution : Distribution.FIXED;
+        value = value != null ? value : Duration.ZERO;
+        min = min != null ? min : Duration.ZERO;
+        max = max != null ? max : Duration.ZERO;
+        sigma = sigma > 0 ? sigma : 0.5;
+        alpha = alpha > 0 ? alpha : 1.5;
+    }
+
+    public static LatencyProfile fixed(Duration value) {
+        return new LatencyProfile(Distribution.FIXED, value, null, null, 0, 0);
+    }
+
+    public long sampleNanos() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long minNanos = min.toNanos();
+        long maxNanos = max.isZero() ? Long.MAX_VALUE : max.toNanos();
+        long nanos = switch (distribution) {
+            case FIXED -> value.toNanos();
+            case UNIFORM -> maxNanos > minNanos && maxNanos != Long.MAX_VALUE
+                    ? random.nextLong(minNanos, maxNanos + 1) : minNanos;
+            case LOG_NORMAL -> (long) (value.toNanos() * Math.exp(sigma * random.nextGaussian()));
+            // Inverse CDF; 1 - nextDouble() is in (0, 1], so the sample is finite
+            case PARETO -> (long) (value.toNanos() / Math.pow(1 - random.nextDouble(), 1 / alpha));
+        };
+        return Math.min(Math.max(nanos, minNanos), maxNanos);
+    }
+}
@@ -0,0 +1,25 @@
+package com.observability.processor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Injected latency per entry point: process (REST), kafka-request, kafka-fire-forget, grpc and
+ * grpc-stream. Entry points without an entry get no latency. Continuation threads size the platform
+ * pool work resumes on after a delay when virtual threads are off.
+ */
+@ConfigurationProperties(prefix = "processor.latency")
+public record LatencyProperties(
+        Map<String, LatencyProfile> endpoints,
+        @DefaultValue("200") int continuationThreads) {
+
+    public LatencyProperties {
+        endpoints = endpoints != null ? Map.copyOf(endpoints) : Map.of();
+    }
+
+    public LatencyProfile profile(String endpoint) {
+        return endpoints.getOrDefault(endpoint, LatencyProfile.NONE);
+    }
+}
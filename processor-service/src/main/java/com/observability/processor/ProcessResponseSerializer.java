@@ -0,0 +1,28 @@
+package com.observability.processor;
+
+import com.observability.processor.grpc.ProcessResponse;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a {@link ProcessResponse} as its protobuf wire format and marks the record with a
+ * payload-format header so consumers can tell it apart from JSON string payloads on the same topic.
+ */
+public class ProcessResponseSerializer implements Serializer<ProcessResponse> {
+
+    public static final String PAYLOAD_FORMAT_HEADER = "payload-format";
+    private static final byte[] PROTOBUF_FORMAT = "protobuf".getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    public byte[] serialize(String topic, ProcessResponse data) {
+        return data == null ? null : data.toByteArray();
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, ProcessResponse data) {
+        headers.add(PAYLOAD_FORMAT_HEADER, PROTOBUF_FORMAT);
+        return serialize(topic, data);
+    }
+}
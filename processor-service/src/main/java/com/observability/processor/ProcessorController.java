@@ -1,82 +1,247 @@
 package com.observability.processor;
 
+import com.observability.processor.grpc.ProcessResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api")
 public class ProcessorController {
 
     private static final Logger logger = LoggerFactory.getLogger(ProcessorController.class);
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private static final String DEFAULT_REPLY_TOPIC = "gateway-processor-reply";
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaSendMonitor kafkaSendMonitor;
+    private final KafkaReplyProperties replyProperties;
+    private final ExecutorService kafkaBatchExecutor;
+    private final LatencyInjector latencyInjector;
+    private final Counter failedRequestRecords;
+    private final Counter failedFireForgetRecords;
 
-    public ProcessorController(KafkaTemplate<String, String> kafkaTemplate) {
+    public ProcessorController(KafkaTemplate<String, Object> kafkaTemplate, KafkaSendMonitor kafkaSendMonitor,
+                               KafkaReplyProperties replyProperties,
+                               @Qualifier("kafkaBatchExecutor") ExecutorService kafkaBatchExecutor,
+                               LatencyInjector latencyInjector, MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.kafkaSendMonitor = kafkaSendMonitor;
+        this.replyProperties = replyProperties;
+        this.kafkaBatchExecutor = kafkaBatchExecutor;
+        this.latencyInjector = latencyInjector;
+        this.failedRequestRecords = failedRecordCounter(meterRegistry, "gateway-processor-request");
+        this.failedFireForgetRecords = failedRecordCounter(meterRegistry, "gateway-processor-fire-forget");
     }
 
     @GetMapping("/process")
-    public Map<String, Object> process() {
+    public CompletableFuture<Map<String, Object>> process() {
         logger.info("Processor service received request");
-        
-        try {
-            Thread.sleep(30);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        return latencyInjector.delay("process", ProcessorController::processResponse);
+    }
 
+    private static Map<String, Object> processResponse() {
         Map<String, Object> response = new HashMap<>();
         response.put("service", "processor-service");
         response.put("timestamp", LocalDateTime.now().toString());
         response.put("processedData", "Processed by Processor Service");
         response.put("data", "Final data from Processor");
 
-        logger.info("Processor service returning processed data");
+        logger.debug("Processor service returning processed data");
         return response;
     }
 
-    @KafkaListener(topics = "gateway-processor-request")
+    @KafkaListener(topics = "gateway-processor-request", autoStartup = "#{!${processor.kafka.batch.enabled}}")
     public void handleGatewayRequest(@Payload String message,
-                                   @Header(KafkaHeaders.RECEIVED_KEY) String correlationId) {
-        logger.info("Processor service received Kafka request from gateway with correlationId: {} and message: {}", correlationId, message);
+                                   @Header(KafkaHeaders.RECEIVED_KEY) String correlationId,
+                                   @Header(name = KafkaHeaders.REPLY_TOPIC, required = false) byte[] replyTopic,
+                                   @Header(name = KafkaHeaders.REPLY_PARTITION, required = false) byte[] replyPartition) {
+        Object response = processRequest(message, correlationId);
+
+        ProducerRecord<String, Object> reply = replyRecord(correlationId, replyTopic, replyPartition, response);
+        kafkaSendMonitor.track(reply.topic(), () -> kafkaTemplate.send(reply));
+        logger.debug("Processor service sent Kafka reply to gateway with correlationId: {}", correlationId);
+    }
+
+    @KafkaListener(topics = "gateway-processor-fire-forget", autoStartup = "#{!${processor.kafka.batch.enabled}}")
+    public void handleGatewayFireForgetRequest(@Payload String message,
+                                             @Header(KafkaHeaders.RECEIVED_KEY) String correlationId) {
+        processFireForgetRequest(message, correlationId);
+    }
+
+    /**
+     * Batch mode: the injected latency of every record in a poll is waited on the timer concurrently, then
+     * records are processed on the batch executor, each under its own producer trace context, and all
+     * replies are flushed together before the batch is acknowledged. A record that fails is logged and
+     * counted on its own; the batch is still acknowledged, since redelivering it would repeat the replies
+     * already sent for the other records, and the gateway times out the failed exchange.
+     */
+    @KafkaListener(topics = "gateway-processor-request", batch = "true",
+            autoStartup = "${processor.kafka.batch.enabled}",
+            concurrency = "${processor.kafka.batch.concurrency}",
+            properties = "max.poll.records=${processor.kafka.batch.max-records}")
+    public void handleGatewayRequestBatch(List<ConsumerRecord<String, String>> records) {
+        logger.info("Processor service received batch of {} Kafka requests from gateway", records.size());
+
+        List<CompletableFuture<CompletableFuture<SendResult<String, Object>>>> processed = records.stream()
+                .map(record -> KafkaRecordTracing.inRecordContext(record, () -> {
+                    logRequest(record.value(), record.key());
+                    return latencyInjector.delay("kafka-request").thenApplyAsync(ignored -> {
+                        Object response = replyPayload();
+                        ProducerRecord<String, Object> reply = replyRecord(record.key(),
+                                headerValue(record, KafkaHeaders.REPLY_TOPIC),
+                                headerValue(record, KafkaHeaders.REPLY_PARTITION),
+                                response);
+                        return kafkaSendMonitor.track(reply.topic(), () -> kafkaTemplate.send(reply));
+                    }, kafkaBatchExecutor);
+                }))
+                .toList();
+        // Every record has either handed its reply to the producer or failed before the flush
+        CompletableFuture.allOf(processed.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+
+        kafkaTemplate.flush();
+        int failed = awaitRecords(records, processed.stream()
+                .map(handedOff -> handedOff.thenCompose(Function.identity()))
+                .toList(), failedRequestRecords);
+        logger.info("Processor service sent batch of {} Kafka replies to gateway", records.size() - failed);
+    }
+
+    @KafkaListener(topics = "gateway-processor-fire-forget", batch = "true",
+            autoStartup = "${processor.kafka.batch.enabled}",
+            concurrency = "${processor.kafka.batch.concurrency}",
+            properties = "max.poll.records=${processor.kafka.batch.max-records}")
+    public void handleGatewayFireForgetRequestBatch(List<ConsumerRecord<String, String>> records) {
+        logger.info("Processor service received batch of {} fire-and-forget requests from gateway", records.size());
+
+        awaitRecords(records, records.stream()
+                .map(record -> KafkaRecordTracing.inRecordContext(record, () -> {
+                    logFireForgetRequest(record.value(), record.key());
+                    return latencyInjector.delay("kafka-fire-forget")
+                            .thenRunAsync(ProcessorController::logFireForgetProcessed, kafkaBatchExecutor);
+                }))
+                .toList(), failedFireForgetRecords);
+    }
+
+    /**
+     * Waits for the outcome of every record of a batch, logging and counting the ones that failed
+     * instead of failing the whole batch. Returns the number of failed records.
+     */
+    private static int awaitRecords(List<ConsumerRecord<String, String>> records,
+                                    List<? extends CompletableFuture<?>> outcomes, Counter failedRecords) {
+        int failed = 0;
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                outcomes.get(i).join();
+            } catch (CompletionException | CancellationException e) {
+                failed++;
+                failedRecords.increment();
+                ConsumerRecord<String, String> record = records.get(i);
+                logger.error("Processor service failed Kafka record {}-{}@{} with correlationId: {}",
+                        record.topic(), record.partition(), record.offset(), record.key(),
+                        e.getCause() != null ? e.getCause() : e);
+            }
+        }
+        return failed;
+    }
+
+    private static Counter failedRecordCounter(MeterRegistry meterRegistry, String topic) {
+        return Counter.builder("processor.kafka.batch.failed")
+                .description("Batch-consumed Kafka records whose processing or reply failed")
+                .tag("topic", topic)
+                .register(meterRegistry);
+    }
+
+    private Object processRequest(String message, String correlationId) {
+        logRequest(message, correlationId);
 
         try {
-            Thread.sleep(30);
+            latencyInjector.pause("kafka-request");
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
+        return replyPayload();
+    }
+
+    private static void logRequest(String message, String correlationId) {
+        logger.info("Processor service received Kafka request from gateway with correlationId: {} and message: {}", correlationId, message);
+    }
 
-        String response = String.format(
+    private Object replyPayload() {
+        if (replyProperties.format() == KafkaReplyProperties.PayloadFormat.PROTOBUF) {
+            return protobufKafkaReply();
+        }
+        return jsonKafkaReply();
+    }
+
+    static String jsonKafkaReply() {
+        return String.format(
             "{\"service\":\"processor-service\",\"timestamp\":\"%s\",\"processedData\":\"Processed by Processor Service via Kafka\",\"data\":\"Final data from Processor\"}",
             LocalDateTime.now().toString()
         );
+    }
 
-        kafkaTemplate.send("gateway-processor-reply", correlationId, response);
-        logger.info("Processor service sent Kafka reply to gateway with correlationId: {}", correlationId);
+    static ProcessResponse protobufKafkaReply() {
+        return ProcessResponse.newBuilder()
+                .setService("processor-service")
+                .setTimestamp(LocalDateTime.now().toString())
+                .setProcessedData("Processed by Processor Service via Kafka")
+                .setData("Final data from Processor")
+                .build();
     }
 
-    @KafkaListener(topics = "gateway-processor-fire-forget")
-    public void handleGatewayFireForgetRequest(@Payload String message,
-                                             @Header(KafkaHeaders.RECEIVED_KEY) String correlationId) {
-        logger.info("Processor service received fire-and-forget request from gateway with correlationId: {} and message: {}", correlationId, message);
+    private void processFireForgetRequest(String message, String correlationId) {
+        logFireForgetRequest(message, correlationId);
 
         try {
-            Thread.sleep(25);
+            latencyInjector.pause("kafka-fire-forget");
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
 
-        logger.info("Processor service processed fire-and-forget request, no response sent");
+        logFireForgetProcessed();
+    }
+
+    private static void logFireForgetRequest(String message, String correlationId) {
+        logger.info("Processor service received fire-and-forget request from gateway with correlationId: {} and message: {}", correlationId, message);
+    }
+
+    private static void logFireForgetProcessed() {
+        logger.debug("Processor service processed fire-and-forget request, no response sent");
+    }
+
+    static ProducerRecord<String, Object> replyRecord(String correlationId, byte[] replyTopic,
+                                                      byte[] replyPartition, Object response) {
+        // Route the reply to the topic/partition owned by the gateway instance that sent the request
+        String topic = replyTopic != null ? new String(replyTopic, StandardCharsets.UTF_8) : DEFAULT_REPLY_TOPIC;
+        Integer partition = replyPartition != null ? ByteBuffer.wrap(replyPartition).getInt() : null;
+        return new ProducerRecord<>(topic, partition, correlationId, response);
+    }
+
+    private static byte[] headerValue(ConsumerRecord<String, String> record, String key) {
+        org.apache.kafka.common.header.Header header = record.headers().lastHeader(key);
+        return header != null ? header.value() : null;
     }
 }
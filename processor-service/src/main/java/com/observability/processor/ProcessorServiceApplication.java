@@ -1,12 +1,152 @@
 package com.observability.processor;
 
+import com.observability.processor.grpc.ProcessResponse;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.opentelemetry.context.Context;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @SpringBootApplication
+@EnableConfigurationProperties({KafkaBatchProperties.class, KafkaReplyProperties.class, ScenarioProperties.class,
+        LatencyProperties.class, GrpcServerTuningProperties.class})
 public class  ProcessorServiceApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(ProcessorServiceApplication.class, args);
     }
+
+    /**
+     * Keeps the Kafka listeners and the gRPC service eager under spring.main.lazy-initialization
+     * (fast-startup profile), so the processor consumes and serves as soon as it is ready.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerTransportEndpoints() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ProcessorController.class, ScenarioStepController.class,
+                GrpcProcessorService.class);
+    }
+
+    /**
+     * Runs gRPC calls on the grpcServerExecutor instead of grpc-java's default cached pool, and caps
+     * concurrent calls per connection.
+     */
+    @Bean
+    public GrpcServerConfigurer grpcServerConfigurer(@Qualifier("grpcServerExecutor") ExecutorService grpcServerExecutor,
+                                                     GrpcServerTuningProperties properties) {
+        return serverBuilder -> {
+            serverBuilder.executor(grpcServerExecutor);
+            if (serverBuilder instanceof NettyServerBuilder nettyServerBuilder) {
+                nettyServerBuilder.maxConcurrentCallsPerConnection(properties.maxConcurrentCallsPerConnection());
+            }
+        };
+    }
+
+    /**
+     * gRPC call executor: virtual threads when spring.threads.virtual.enabled is set, matching what
+     * Spring Boot does for Tomcat and the Kafka listeners, otherwise a fixed platform pool. Handlers
+     * release their thread during injected latency, so a small pool keeps up; executor_queued on
+     * /actuator/prometheus shows when it does not.
+     */
+    @Bean(name = "grpcServerExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualGrpcServerExecutor(MeterRegistry meterRegistry) {
+        return ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-server-", 0).factory()), "grpc-server");
+    }
+
+    @Bean(name = "grpcServerExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService platformGrpcServerExecutor(GrpcServerTuningProperties properties, MeterRegistry meterRegistry,
+                                                      GrpcLoadShedder grpcLoadShedder) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(properties.executorThreads(), properties.executorThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.queueCapacity()),
+                Thread.ofPlatform().name("grpc-server-", 0).daemon().factory(), grpcLoadShedder);
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "grpc-server");
+    }
+
+    /**
+     * Turns rejections of the bounded platform gRPC executor into RESOURCE_EXHAUSTED responses; a
+     * no-op with virtual threads, whose executor never rejects.
+     */
+    @Bean
+    @GrpcGlobalServerInterceptor
+    public GrpcLoadShedder grpcLoadShedder(MeterRegistry meterRegistry) {
+        return new GrpcLoadShedder(meterRegistry);
+    }
+
+    /**
+     * Picks the value serializer from the payload type, so String replies stay JSON and
+     * {@link ProcessResponse} replies go out as protobuf bytes.
+     */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaProducerFactoryCustomizer payloadSerializerCustomizer() {
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(String.class, new StringSerializer());
+        delegates.put(ProcessResponse.class, new ProcessResponseSerializer());
+        DelegatingByTypeSerializer valueSerializer = new DelegatingByTypeSerializer(delegates);
+        return producerFactory -> ((DefaultKafkaProducerFactory<Object, Object>) producerFactory)
+                .setValueSerializer(valueSerializer);
+    }
+
+    /**
+     * Runs batch records once their injected latency has passed. Tasks carry the record span they
+     * were scheduled under.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService kafkaBatchExecutor(KafkaBatchProperties properties) {
+        if (properties.virtualThreads()) {
+            return Context.taskWrapping(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return Context.taskWrapping(Executors.newFixedThreadPool(properties.parallelism(),
+                Thread.ofPlatform().name("kafka-batch-", 0).daemon().factory()));
+    }
+
+    /**
+     * Runs scenario fan-out branches, which block on injected latency and self-hops, one virtual
+     * thread each. Tasks carry the submitting thread's trace context.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService scenarioExecutor() {
+        return Context.taskWrapping(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("scenario-", 0).factory()));
+    }
+
+    /**
+     * Where work resumes after an injected delay: one virtual thread per continuation when
+     * spring.threads.virtual.enabled is set, otherwise a platform pool sized like Tomcat's.
+     */
+    @Bean(name = "latencyContinuationExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualLatencyContinuationExecutor() {
+        return Context.taskWrapping(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("latency-", 0).factory()));
+    }
+
+    @Bean(name = "latencyContinuationExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService platformLatencyContinuationExecutor(LatencyProperties properties) {
+        return Context.taskWrapping(Executors.newFixedThreadPool(properties.continuationThreads(),
+                Thread.ofPlatform().name("latency-", 0).daemon().factory()));
+    }
 }
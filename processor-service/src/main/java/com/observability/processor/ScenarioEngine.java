@@ -0,0 +1,149 @@
+package com.observability.processor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.observability.processor.grpc.ProcessorServiceGrpc;
+import com.observability.processor.grpc.ScenarioStepRequest;
+import com.observability.processor.grpc.ScenarioStepResponse;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the scenario subtrees the gateway hands to this service. The hop's own step runs here; its
+ * LOCAL children run in-process and its REST, GRPC and KAFKA_FF children hop back into this service
+ * over the real transport, so every hop adds client and server spans to the trace. The gateway
+ * rejects DB, ES and KAFKA_RR steps below a processor-side step at startup.
+ */
+@Component
+public class ScenarioEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioEngine.class);
+
+    @GrpcClient("processor-service")
+    private ProcessorServiceGrpc.ProcessorServiceBlockingStub processorServiceStub;
+
+    private final ScenarioProperties properties;
+    private final RestClient restClient;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaSendMonitor kafkaSendMonitor;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService scenarioExecutor;
+    private final LatencyInjector latencyInjector;
+    private final Tracer tracer = GlobalOpenTelemetry.getTracer("processor-service");
+
+    public ScenarioEngine(ScenarioProperties properties, RestClient.Builder restClientBuilder,
+                          KafkaTemplate<String, Object> kafkaTemplate, KafkaSendMonitor kafkaSendMonitor,
+                          ObjectMapper objectMapper, @Qualifier("scenarioExecutor") ExecutorService scenarioExecutor,
+                          LatencyInjector latencyInjector) {
+        this.properties = properties;
+        this.restClient = restClientBuilder.baseUrl(properties.selfUrl()).build();
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaSendMonitor = kafkaSendMonitor;
+        this.objectMapper = objectMapper;
+        this.scenarioExecutor = scenarioExecutor;
+        this.latencyInjector = latencyInjector;
+    }
+
+    /**
+     * Runs the step a hop carries, then its subtree. Injected errors and failed child hops are
+     * counted in the result rather than thrown, so one failing branch never aborts its siblings.
+     */
+    public ScenarioResult execute(ScenarioHop hop) {
+        ScenarioStep step = hop.step();
+        Span span = tracer.spanBuilder("scenario " + step.name())
+                .setAttribute("scenario.name", hop.scenario())
+                .setAttribute("scenario.step", step.name())
+                .setAttribute("scenario.transport", step.transport().name())
+                .setAttribute("scenario.depth", (long) hop.depth())
+                .startSpan();
+        try (Scope scope = span.makeCurrent()) {
+            latencyInjector.pause(step.latency());
+            if (step.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < step.errorRate()) {
+                span.setStatus(StatusCode.ERROR, "Injected scenario error");
+                return ScenarioResult.failed();
+            }
+            return ScenarioResult.ok().plus(runChildren(hop));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            span.setStatus(StatusCode.ERROR, "Interrupted");
+            return ScenarioResult.failed();
+        } finally {
+            span.end();
+        }
+    }
+
+    private ScenarioResult runChildren(ScenarioHop hop) {
+        List<ScenarioHop> children = new ArrayList<>();
+        for (ScenarioStep child : hop.step().steps()) {
+            for (int i = 0; i < child.fanOut(); i++) {
+                children.add(new ScenarioHop(hop.scenario(), hop.depth() + 1, child));
+            }
+        }
+        if (children.isEmpty()) {
+            return ScenarioResult.EMPTY;
+        }
+        if (children.size() == 1) {
+            return invoke(children.get(0));
+        }
+        List<CompletableFuture<ScenarioResult>> futures = new ArrayList<>(children.size());
+        for (ScenarioHop child : children) {
+            futures.add(CompletableFuture.supplyAsync(() -> invoke(child), scenarioExecutor));
+        }
+        ScenarioResult result = ScenarioResult.EMPTY;
+        for (CompletableFuture<ScenarioResult> future : futures) {
+            result = result.plus(future.join());
+        }
+        return result;
+    }
+
+    private ScenarioResult invoke(ScenarioHop hop) {
+        try {
+            return switch (hop.step().transport()) {
+                case LOCAL -> execute(hop);
+                case REST -> restClient.post().uri("/api/scenario-step").body(hop).retrieve().body(ScenarioResult.class);
+                case GRPC -> grpcHop(hop);
+                case KAFKA_FF -> kafkaFireAndForgetHop(hop);
+                case KAFKA_RR, DB, ES -> throw new IllegalStateException(
+                        hop.step().transport() + " steps can only run from the gateway");
+            };
+        } catch (Exception e) {
+            logger.warn("Scenario {} step {} failed over {}: {}", hop.scenario(), hop.step().name(),
+                    hop.step().transport(), e.getMessage());
+            return ScenarioResult.failed();
+        }
+    }
+
+    private ScenarioResult grpcHop(ScenarioHop hop) throws JsonProcessingException {
+        ScenarioStepRequest request = ScenarioStepRequest.newBuilder()
+                .setHopJson(objectMapper.writeValueAsString(hop))
+                .build();
+        ScenarioStepResponse response = processorServiceStub
+                .withDeadlineAfter(properties.hopTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .executeScenarioStep(request);
+        return new ScenarioResult(response.getSteps(), response.getErrors());
+    }
+
+    private ScenarioResult kafkaFireAndForgetHop(ScenarioHop hop) throws JsonProcessingException {
+        String descriptor = objectMapper.writeValueAsString(hop);
+        kafkaSendMonitor.track(properties.kafkaTopic(),
+                () -> kafkaTemplate.send(properties.kafkaTopic(), hop.scenario(), descriptor));
+        return ScenarioResult.ok();
+    }
+}
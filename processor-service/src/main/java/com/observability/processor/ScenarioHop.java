@@ -0,0 +1,8 @@
+package com.observability.processor;
+
+/**
+ * Scenario descriptor carried by every hop: the subtree the receiving service should run, plus
+ * the scenario it belongs to and how deep in the tree it sits.
+ */
+public record ScenarioHop(String scenario, int depth, ScenarioStep step) {
+}
@@ -0,0 +1,18 @@
+package com.observability.processor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for running scenario subtrees sent by the gateway. Remote child steps hop back into this
+ * service: REST to self-url, gRPC through the processor-service client, Kafka through kafka-topic.
+ */
+@ConfigurationProperties(prefix = "processor.scenario")
+public record ScenarioProperties(
+        @DefaultValue("http://localhost:9981") String selfUrl,
+        @DefaultValue("scenario-steps") String kafkaTopic,
+        @DefaultValue("4") int kafkaConcurrency,
+        @DefaultValue("30s") Duration hopTimeout) {
+}
@@ -0,0 +1,49 @@
+package com.observability.processor;
+
+import java.util.List;
+
+/**
+ * One node of a scenario tree. The step runs in the service its transport leads to (LOCAL, DB and
+ * ES stay in the calling service; REST, GRPC and KAFKA_* hop to the processor), waits a latency
+ * sampled from its {@link LatencyProfile}, fails with probability errorRate, and otherwise runs
+ * each child fanOut times, all concurrently.
+ * The same shape is bound from scenario YAML and sent as JSON across hops.
+ */
+public record ScenarioStep(
+        String name,
+        Transport transport,
+        int fanOut,
+        LatencyProfile latency,
+        double errorRate,
+        List<ScenarioStep> steps) {
+
+    public enum Transport {
+        LOCAL, REST, GRPC, KAFKA_RR, KAFKA_FF, DB, ES;
+
+        /**
+         * Whether a step over this transport runs in another service, rather than in the one issuing it.
+         */
+        public boolean isRemote() {
+            return this == REST || this == GRPC || this == KAFKA_RR || this == KAFKA_FF;
+        }
+    }
+
+    public ScenarioStep {
+        transport = transport != null ? transport : Transport.LOCAL;
+        name = name != null ? name : transport.name().toLowerCase();
+        fanOut = Math.max(1, fanOut);
+        latency = latency != null ? latency : LatencyProfile.NONE;
+        steps = steps != null ? List.copyOf(steps) : List.of();
+    }
+
+    /**
+     * Number of steps one execution of this tree runs, counting every fan-out copy.
+     */
+    public long totalSteps() {
+        long total = 1;
+        for (ScenarioStep step : steps) {
+            total += step.fanOut() * step.totalSteps();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,65 @@
+package com.observability.processor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST and Kafka entry points for scenario hops; the gRPC one is
+ * {@link GrpcProcessorService#executeScenarioStep}. Kafka hops carrying reply headers are
+ * request-reply and get the subtree's {@link ScenarioResult} back as JSON, the rest are fire-and-forget.
+ */
+@RestController
+@RequestMapping("/api")
+public class ScenarioStepController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioStepController.class);
+
+    private final ScenarioEngine scenarioEngine;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaSendMonitor kafkaSendMonitor;
+    private final ObjectMapper objectMapper;
+
+    public ScenarioStepController(ScenarioEngine scenarioEngine, KafkaTemplate<String, Object> kafkaTemplate,
+                                  KafkaSendMonitor kafkaSendMonitor, ObjectMapper objectMapper) {
+        this.scenarioEngine = scenarioEngine;
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaSendMonitor = kafkaSendMonitor;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping("/scenario-step")
+    public ScenarioResult scenarioStep(@RequestBody ScenarioHop hop) {
+        logger.info("Processor service received REST scenario step {} of {}", hop.step().name(), hop.scenario());
+        return scenarioEngine.execute(hop);
+    }
+
+    @KafkaListener(topics = "${processor.scenario.kafka-topic}", concurrency = "${processor.scenario.kafka-concurrency}")
+    public void handleScenarioStep(@Payload String message,
+                                   @Header(KafkaHeaders.RECEIVED_KEY) String key,
+                                   @Header(name = KafkaHeaders.REPLY_TOPIC, required = false) byte[] replyTopic,
+                                   @Header(name = KafkaHeaders.REPLY_PARTITION, required = false) byte[] replyPartition)
+            throws JsonProcessingException {
+        ScenarioHop hop = objectMapper.readValue(message, ScenarioHop.class);
+        logger.info("Processor service received Kafka scenario step {} of {}", hop.step().name(), hop.scenario());
+
+        ScenarioResult result = scenarioEngine.execute(hop);
+        if (replyTopic == null) {
+            return;
+        }
+        ProducerRecord<String, Object> reply = ProcessorController.replyRecord(key, replyTopic, replyPartition,
+                objectMapper.writeValueAsString(result));
+        kafkaSendMonitor.track(reply.topic(), () -> kafkaTemplate.send(reply));
+    }
+}